@@ -0,0 +1,7 @@
+package com.adbrassacoma.administrativo.domain.enums;
+
+public enum AgrupamentoPeriodo {
+    DIA,
+    MES,
+    ANO
+}
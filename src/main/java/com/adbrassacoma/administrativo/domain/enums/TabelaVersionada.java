@@ -0,0 +1,9 @@
+package com.adbrassacoma.administrativo.domain.enums;
+
+/**
+ * Tabelas com contador de alterações, usado como ETag das listagens.
+ */
+public enum TabelaVersionada {
+    FINANCEIRO,
+    TELAS
+}
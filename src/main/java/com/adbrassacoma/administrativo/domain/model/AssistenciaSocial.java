@@ -43,8 +43,20 @@ public class AssistenciaSocial {
     @Column(nullable = false, updatable = false)
     private LocalDateTime dataRegistro;
 
+    @Version
+    private Long versao;
+
+    @Column(name = "data_atualizacao")
+    private LocalDateTime dataAtualizacao;
+
     @PrePersist
     private void prePersist() {
         this.dataRegistro = LocalDateTime.now();
+        this.dataAtualizacao = this.dataRegistro;
+    }
+
+    @PreUpdate
+    private void preUpdate() {
+        this.dataAtualizacao = LocalDateTime.now();
     }
 }
@@ -11,11 +11,15 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @Builder
 @Entity
-@Table(name = "endereco")
+@Table(name = "endereco", indexes = {
+        @Index(name = "idx_endereco_cidade", columnList = "cidade")
+})
 public class Endereco {
 
+    // Sequência com otimizador pooled: permite ao Hibernate agrupar os INSERTs em lotes JDBC
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "endereco_seq")
+    @SequenceGenerator(name = "endereco_seq", sequenceName = "endereco_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 120)
@@ -0,0 +1,37 @@
+package com.adbrassacoma.administrativo.domain.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Situação do exercício (ano) financeiro. Exercícios fechados não aceitam lançamentos e têm seus
+ * registros movidos para financeiro_arquivo.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Entity
+@Table(name = "exercicio_financeiro")
+public class ExercicioFinanceiro {
+
+    @Id
+    private Integer ano;
+
+    @Column(nullable = false)
+    private Boolean fechado;
+
+    @Column(name = "data_fechamento")
+    private LocalDateTime dataFechamento;
+
+    @Column(name = "data_reabertura")
+    private LocalDateTime dataReabertura;
+
+    @Column(name = "quantidade_arquivada")
+    private Long quantidadeArquivada;
+}
@@ -15,11 +15,18 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @Builder
 @Entity
-@Table(name = "financeiro")
+@Table(name = "financeiro", indexes = {
+        @Index(name = "idx_financeiro_tipo_data", columnList = "tipo, data_registro"),
+        @Index(name = "idx_financeiro_membro_data", columnList = "membro_id, data_registro"),
+        // Cobre as totalizações por período: o GROUP BY é resolvido só com o índice, sem ler a tabela
+        @Index(name = "idx_financeiro_data_totais", columnList = "data_registro, tipo, entrada, saida")
+})
 public class Financeiro {
 
+    // Sequência com otimizador pooled: permite ao Hibernate agrupar os INSERTs em lotes JDBC
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "financeiro_seq")
+    @SequenceGenerator(name = "financeiro_seq", sequenceName = "financeiro_seq", allocationSize = 50)
     private Long id;
 
     @Column(precision = 15, scale = 2)
@@ -35,15 +42,27 @@ public class Financeiro {
     @Column(length = 255)
     private String observacao;
 
-    @Column(nullable = false, updatable = false)
+    @Column(name = "data_registro", nullable = false, updatable = false)
     private LocalDateTime dataRegistro;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "membro_id")
     private Membros membro;
 
+    @Version
+    private Long versao;
+
+    @Column(name = "data_atualizacao")
+    private LocalDateTime dataAtualizacao;
+
     @PrePersist
     private void prePersist() {
         this.dataRegistro = LocalDateTime.now();
+        this.dataAtualizacao = this.dataRegistro;
+    }
+
+    @PreUpdate
+    private void preUpdate() {
+        this.dataAtualizacao = LocalDateTime.now();
     }
 }
@@ -0,0 +1,60 @@
+package com.adbrassacoma.administrativo.domain.model;
+
+import com.adbrassacoma.administrativo.domain.enums.TipoFinanceiro;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Registro financeiro de um exercício fechado. Mantém o id original para que a reabertura o devolva
+ * à tabela financeiro sem alterações; o membro é guardado só pelo id, sem chave estrangeira.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Entity
+@Table(name = "financeiro_arquivo", indexes = {
+        @Index(name = "idx_financeiro_arquivo_exercicio_data", columnList = "exercicio, data_registro"),
+        @Index(name = "idx_financeiro_arquivo_membro_data", columnList = "membro_id, data_registro")
+})
+public class FinanceiroArquivado {
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private Integer exercicio;
+
+    @Column(precision = 15, scale = 2)
+    private BigDecimal entrada;
+
+    @Column(precision = 15, scale = 2)
+    private BigDecimal saida;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private TipoFinanceiro tipo;
+
+    @Column(length = 255)
+    private String observacao;
+
+    @Column(name = "data_registro", nullable = false)
+    private LocalDateTime dataRegistro;
+
+    @Column(name = "membro_id")
+    private Long membroId;
+
+    private Long versao;
+
+    @Column(name = "data_atualizacao")
+    private LocalDateTime dataAtualizacao;
+
+    @Column(name = "data_arquivamento", nullable = false)
+    private LocalDateTime dataArquivamento;
+}
@@ -1,30 +1,51 @@
 package com.adbrassacoma.administrativo.domain.model;
 
+import com.adbrassacoma.administrativo.infrastructure.validator.NomeNormalizer;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
+
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
 @Entity
-@Table(name = "membros")
+@Table(name = "membros", uniqueConstraints = {
+        @UniqueConstraint(name = Membros.UK_CPF, columnNames = "cpf"),
+        @UniqueConstraint(name = Membros.UK_RG, columnNames = "rg"),
+        @UniqueConstraint(name = Membros.UK_RI, columnNames = "ri")
+}, indexes = {
+        @Index(name = "idx_membros_nome_id", columnList = "nome, id"),
+        @Index(name = "idx_membros_cargo_id", columnList = "cargo, id"),
+        @Index(name = "idx_membros_nome_normalizado", columnList = "nome_normalizado")
+})
 public class Membros {
 
+    public static final String UK_CPF = "uk_membros_cpf";
+    public static final String UK_RG = "uk_membros_rg";
+    public static final String UK_RI = "uk_membros_ri";
+
+    // Sequência com otimizador pooled: permite ao Hibernate agrupar os INSERTs em lotes JDBC
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "membros_seq")
+    @SequenceGenerator(name = "membros_seq", sequenceName = "membros_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 120)
     private String nome;
 
-    @Column(nullable = false, unique = true, length = 20)
+    // Nome minúsculo e sem acentos, mantido a partir de nome e usado na busca
+    @Column(name = "nome_normalizado", length = 120)
+    private String nomeNormalizado;
+
+    @Column(nullable = false, length = 20)
     private String rg;
 
-    @Column(nullable = false, unique = true, length = 14)
+    @Column(nullable = false, length = 14)
     private String cpf;
 
     @Column(length = 20)
@@ -37,4 +58,17 @@ public class Membros {
     @JoinColumn(name = "endereco_id", nullable = false)
     private Endereco endereco;
 
+    // Versão usada no controle otimista e no ETag de /api/membros/{id}
+    @Version
+    private Long versao;
+
+    @Column(name = "data_atualizacao")
+    private LocalDateTime dataAtualizacao;
+
+    @PrePersist
+    @PreUpdate
+    private void antesDeSalvar() {
+        this.nomeNormalizado = NomeNormalizer.normalizar(nome);
+        this.dataAtualizacao = LocalDateTime.now();
+    }
 }
@@ -0,0 +1,31 @@
+package com.adbrassacoma.administrativo.domain.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Estado serializado de um bucket de rate limit compartilhado entre instâncias
+ * (rate.limit.backend=jdbc). Lido e gravado diretamente via JDBC pelo RateLimitBucketStoreJdbc;
+ * a entidade existe para que a tabela seja criada pelo mesmo ddl-auto das demais.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Entity
+@Table(name = "rate_limit_bucket")
+public class RateLimitBucketEstado {
+
+    @Id
+    @Column(length = 255)
+    private String id;
+
+    @Column(nullable = false, length = 4096)
+    private byte[] estado;
+
+    @Column(name = "atualizado_em", nullable = false)
+    private Long atualizadoEm;
+}
@@ -0,0 +1,34 @@
+package com.adbrassacoma.administrativo.domain.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Totais de entrada, saída e quantidade de registros financeiros por mês e tipo,
+ * mantidos pelas escritas do financeiro e reconstruídos periodicamente a partir da tabela financeiro.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Entity
+@Table(name = "resumo_mensal_financeiro")
+public class ResumoMensalFinanceiro {
+
+    @EmbeddedId
+    private ResumoMensalFinanceiroId id;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal entrada;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal saida;
+
+    @Column(nullable = false)
+    private Long quantidade;
+}
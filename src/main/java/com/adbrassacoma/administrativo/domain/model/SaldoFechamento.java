@@ -0,0 +1,33 @@
+package com.adbrassacoma.administrativo.domain.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Totais de um tipo no fechamento do exercício, gravados no momento do fechamento.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Entity
+@Table(name = "saldo_fechamento")
+public class SaldoFechamento {
+
+    @EmbeddedId
+    private SaldoFechamentoId id;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal entrada;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal saida;
+
+    @Column(nullable = false)
+    private Long quantidade;
+}
@@ -0,0 +1,26 @@
+package com.adbrassacoma.administrativo.domain.model;
+
+import com.adbrassacoma.administrativo.domain.enums.TipoFinanceiro;
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Embeddable
+public class SaldoFechamentoId implements Serializable {
+
+    @Column(nullable = false)
+    private Integer ano;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private TipoFinanceiro tipo;
+}
@@ -40,12 +40,20 @@ public class Usuario {
     @Column(name = "data_criacao", nullable = false)
     private LocalDateTime dataCriacao;
 
+    // Incrementada a cada alteração de role ou telas; tokens com outra versão (pv) são considerados desatualizados
+    @Column(name = "versao_permissoes", nullable = false)
+    @Builder.Default
+    private Long versaoPermissoes = 0L;
+
     @PrePersist
     private void prePersist() {
         this.dataCriacao = LocalDateTime.now();
         if (this.role == null) {
             this.role = Role.USER;
         }
+        if (this.versaoPermissoes == null) {
+            this.versaoPermissoes = 0L;
+        }
     }
 
 }
@@ -0,0 +1,23 @@
+package com.adbrassacoma.administrativo.domain.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Entity
+@Table(name = "versao_tabela")
+public class VersaoTabela {
+
+    @Id
+    @Column(length = 40)
+    private String tabela;
+
+    @Column(nullable = false)
+    private Long versao;
+}
@@ -1,6 +1,7 @@
 package com.adbrassacoma.administrativo.domain.service;
 
 import com.adbrassacoma.administrativo.domain.model.AssistenciaSocial;
+import com.adbrassacoma.administrativo.infrastructure.config.CacheConsultas;
 import com.adbrassacoma.administrativo.infrastructure.dto.request.AtualizarAssistenciaSocialRequest;
 import com.adbrassacoma.administrativo.infrastructure.dto.request.CadastroAssistenciaSocialRequest;
 import com.adbrassacoma.administrativo.infrastructure.dto.response.AssistenciaSocialResponse;
@@ -21,6 +22,7 @@ import java.util.function.BiConsumer;
 public class AssistenciaSocialService {
 
     private final AssistenciaSocialRepository assistenciaSocialRepository;
+    private final CacheConsultas cacheConsultas;
 
     @Transactional
     public AssistenciaSocialResponse cadastrar(CadastroAssistenciaSocialRequest request) {
@@ -53,12 +55,12 @@ public class AssistenciaSocialService {
                 .map(this::toAssistenciaSocialResponse);
     }
 
-    @Transactional(readOnly = true)
+    // Consulta de detalhe via cache, sem transação própria (ver MembroService.buscarPorId)
     public AssistenciaSocialResponse buscarPorId(Long id) {
-        AssistenciaSocial assistenciaSocial = assistenciaSocialRepository.findById(id)
-                .orElseThrow(() -> new AssistenciaSocialNaoEncontradoException(
-                        "Assistência social não encontrada com ID: " + id));
-        return toAssistenciaSocialResponse(assistenciaSocial);
+        return cacheConsultas.assistenciaSocialPorId().obter(id, chave -> toAssistenciaSocialResponse(
+                assistenciaSocialRepository.findById(chave)
+                        .orElseThrow(() -> new AssistenciaSocialNaoEncontradoException(
+                                "Assistência social não encontrada com ID: " + chave))));
     }
 
     @Transactional
@@ -71,6 +73,7 @@ public class AssistenciaSocialService {
                     "Assistência social não encontrada com ID: " + id);
         });
 
+        cacheConsultas.assistenciaSocialPorId().invalidar(id);
         aplicarAtualizacoes(assistenciaSocial, request);
 
         assistenciaSocial = assistenciaSocialRepository.save(assistenciaSocial);
@@ -90,6 +93,7 @@ public class AssistenciaSocialService {
         }
 
         assistenciaSocialRepository.deleteById(id);
+        cacheConsultas.assistenciaSocialPorId().invalidar(id);
         log.info("Assistência social deletada com sucesso. ID: {}", id);
     }
 
@@ -3,16 +3,21 @@ package com.adbrassacoma.administrativo.domain.service;
 import com.adbrassacoma.administrativo.domain.enums.Role;
 import com.adbrassacoma.administrativo.domain.model.Usuario;
 import com.adbrassacoma.administrativo.infrastructure.config.JwtService;
+import com.adbrassacoma.administrativo.infrastructure.config.TokenRevogacaoIndex;
+import com.adbrassacoma.administrativo.infrastructure.config.TokenVerificado;
+import com.adbrassacoma.administrativo.infrastructure.config.UserDetailsCache;
 import com.adbrassacoma.administrativo.infrastructure.dto.request.AtualizarUsuarioRequest;
 import com.adbrassacoma.administrativo.infrastructure.dto.response.AuthResponse;
 import com.adbrassacoma.administrativo.infrastructure.dto.request.CadastroUsuarioRequest;
 import com.adbrassacoma.administrativo.infrastructure.dto.request.LoginRequest;
+import com.adbrassacoma.administrativo.infrastructure.dto.request.RefreshTokenRequest;
 import com.adbrassacoma.administrativo.infrastructure.dto.response.UsuarioResponse;
 import com.adbrassacoma.administrativo.infrastructure.exception.CredenciaisInvalidasException;
 import com.adbrassacoma.administrativo.infrastructure.exception.EmailJaCadastradoException;
 import com.adbrassacoma.administrativo.infrastructure.exception.UsuarioNaoEncontradoException;
 import com.adbrassacoma.administrativo.infrastructure.repository.UsuarioRepository;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -25,6 +30,7 @@ import org.springframework.transaction.annotation.Transactional;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @Service
@@ -35,18 +41,33 @@ public class AuthService implements UserDetailsService {
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
     private final PermissaoService permissaoService;
+    private final UserDetailsCache userDetailsCache;
+    private final PermissaoCatalogoService permissaoCatalogoService;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevogacaoIndex revogacaoIndex;
+    private final boolean permissoesNoToken;
 
     public AuthService(
             UsuarioRepository usuarioRepository,
             PasswordEncoder passwordEncoder,
             JwtService jwtService,
             @Lazy AuthenticationManager authenticationManager,
-            PermissaoService permissaoService) {
+            PermissaoService permissaoService,
+            UserDetailsCache userDetailsCache,
+            PermissaoCatalogoService permissaoCatalogoService,
+            RefreshTokenService refreshTokenService,
+            TokenRevogacaoIndex revogacaoIndex,
+            @Value("${jwt.permissoes-no-token:true}") boolean permissoesNoToken) {
         this.usuarioRepository = usuarioRepository;
         this.passwordEncoder = passwordEncoder;
         this.jwtService = jwtService;
         this.authenticationManager = authenticationManager;
         this.permissaoService = permissaoService;
+        this.userDetailsCache = userDetailsCache;
+        this.permissaoCatalogoService = permissaoCatalogoService;
+        this.refreshTokenService = refreshTokenService;
+        this.revogacaoIndex = revogacaoIndex;
+        this.permissoesNoToken = permissoesNoToken;
     }
 
     @Transactional
@@ -87,13 +108,44 @@ public class AuthService implements UserDetailsService {
                     return new CredenciaisInvalidasException("Usuário não encontrado");
                 });
 
-        String token = jwtService.generateToken(usuario.getEmail());
         log.info("Login realizado com sucesso. Usuário ID: {}, Email: {}, Role: {}", 
                 usuario.getId(), usuario.getEmail(), usuario.getRole());
 
+        return gerarAuthResponse(usuario);
+    }
+
+    // O reuso de um refresh token revogado precisa persistir a revogação mesmo com a falha
+    @Transactional(noRollbackFor = CredenciaisInvalidasException.class)
+    public AuthResponse renovar(RefreshTokenRequest request) {
+        Usuario usuario = refreshTokenService.consumir(request.refreshToken());
+        log.info("Token renovado. Usuário ID: {}, Email: {}", usuario.getId(), usuario.getEmail());
+        return gerarAuthResponse(usuario);
+    }
+
+    @Transactional
+    public void logout(RefreshTokenRequest request, TokenVerificado tokenAcesso) {
+        refreshTokenService.revogar(request.refreshToken());
+        if (tokenAcesso != null) {
+            revogacaoIndex.revogar(tokenAcesso);
+            log.info("Logout realizado. Email: {}", tokenAcesso.subject());
+        }
+    }
+
+    private AuthResponse gerarAuthResponse(Usuario usuario) {
+        String token;
+        if (permissoesNoToken) {
+            List<String> telasPermitidas = permissaoService.buscarTelasPermitidas(usuario.getId());
+            Map<String, Object> claims = permissaoCatalogoService.gerarClaims(usuario, telasPermitidas);
+            token = jwtService.generateToken(usuario.getEmail(), claims);
+        } else {
+            token = jwtService.generateToken(usuario.getEmail());
+        }
+
         return new AuthResponse(
                 token,
                 "Bearer",
+                jwtService.getExpiracaoEmSegundos(),
+                refreshTokenService.emitir(usuario),
                 usuario.getId(),
                 usuario.getNome(),
                 usuario.getEmail(),
@@ -141,12 +193,17 @@ public class AuthService implements UserDetailsService {
             throw new EmailJaCadastradoException("Email já cadastrado no sistema");
         }
 
+        userDetailsCache.invalidar(usuario.getEmail());
+        userDetailsCache.invalidar(request.email());
+        revogacaoIndex.revogarUsuario(usuario.getEmail());
+
         usuario.setNome(request.nome());
         usuario.setEmail(request.email());
 
         if (request.senha() != null && !request.senha().isBlank()) {
             log.debug("Senha do usuário ID: {} será atualizada", id);
             usuario.setSenha(passwordEncoder.encode(request.senha()));
+            refreshTokenService.revogarTodos(id);
         }
 
         usuario = usuarioRepository.save(usuario);
@@ -170,7 +227,11 @@ public class AuthService implements UserDetailsService {
             throw new IllegalStateException("O administrador master não pode ser excluído");
         }
         
+        refreshTokenService.removerTodos(id);
         usuarioRepository.deleteById(id);
+        userDetailsCache.invalidar(usuario.getEmail());
+        revogacaoIndex.revogarUsuario(usuario.getEmail());
+        permissaoCatalogoService.registrarAlteracao(id);
         log.info("Usuário deletado com sucesso. ID: {}", id);
     }
 
@@ -193,6 +254,9 @@ public class AuthService implements UserDetailsService {
 
         usuario.setRole(Role.ADMIN);
         usuario = usuarioRepository.save(usuario);
+        userDetailsCache.invalidar(usuario.getEmail());
+        permissaoCatalogoService.registrarAlteracao(id);
+        revogacaoIndex.revogarUsuario(usuario.getEmail());
         log.info("Usuário promovido a admin com sucesso. ID: {}, Email: {}", usuario.getId(), usuario.getEmail());
         
         return toUsuarioResponse(usuario);
@@ -220,6 +284,10 @@ public class AuthService implements UserDetailsService {
 
         usuario.setRole(Role.USER);
         usuario = usuarioRepository.save(usuario);
+        userDetailsCache.invalidar(usuario.getEmail());
+        permissaoCatalogoService.registrarAlteracao(id);
+        revogacaoIndex.revogarUsuario(usuario.getEmail());
+        refreshTokenService.revogarTodos(id);
         log.info("Admin rebaixado a usuário comum com sucesso. ID: {}, Email: {}", usuario.getId(), usuario.getEmail());
         
         return toUsuarioResponse(usuario);
@@ -237,6 +305,10 @@ public class AuthService implements UserDetailsService {
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
+        return userDetailsCache.obter(email, this::carregarDadosAutenticacao);
+    }
+
+    private UserDetailsCache.DadosAutenticacao carregarDadosAutenticacao(String email) {
         log.debug("Carregando detalhes do usuário para autenticação. Email: {}", email);
         
         Usuario usuario = usuarioRepository.findByEmail(email)
@@ -248,11 +320,7 @@ public class AuthService implements UserDetailsService {
         String authority = usuario.getRole() == Role.ADMIN ? "ROLE_ADMIN" : "ROLE_USER";
         log.debug("Usuário carregado com sucesso. Email: {}, Role: {}", email, usuario.getRole());
 
-        return org.springframework.security.core.userdetails.User.builder()
-                .username(usuario.getEmail())
-                .password(usuario.getSenha())
-                .authorities(authority)
-                .build();
+        return new UserDetailsCache.DadosAutenticacao(usuario.getEmail(), usuario.getSenha(), authority);
     }
 
     /**
@@ -0,0 +1,163 @@
+package com.adbrassacoma.administrativo.domain.service;
+
+import com.adbrassacoma.administrativo.domain.enums.AgrupamentoPeriodo;
+import com.adbrassacoma.administrativo.domain.enums.TabelaVersionada;
+import com.adbrassacoma.administrativo.domain.enums.TipoFinanceiro;
+import com.adbrassacoma.administrativo.domain.model.ExercicioFinanceiro;
+import com.adbrassacoma.administrativo.domain.model.SaldoFechamento;
+import com.adbrassacoma.administrativo.domain.model.SaldoFechamentoId;
+import com.adbrassacoma.administrativo.infrastructure.config.CacheConsultas;
+import com.adbrassacoma.administrativo.infrastructure.dto.response.ExercicioFinanceiroResponse;
+import com.adbrassacoma.administrativo.infrastructure.dto.response.TotaisFinanceiroResponse;
+import com.adbrassacoma.administrativo.infrastructure.exception.ExercicioFechadoException;
+import com.adbrassacoma.administrativo.infrastructure.exception.PeriodoInvalidoException;
+import com.adbrassacoma.administrativo.infrastructure.repository.ExercicioFinanceiroRepository;
+import com.adbrassacoma.administrativo.infrastructure.repository.FinanceiroArquivadoRepository;
+import com.adbrassacoma.administrativo.infrastructure.repository.FinanceiroRepository;
+import com.adbrassacoma.administrativo.infrastructure.repository.SaldoFechamentoRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Fechamento e reabertura de exercícios (anos) do financeiro.
+ *
+ * O fechamento grava os totais do ano por tipo e move os registros para financeiro_arquivo, deixando na
+ * tabela financeiro apenas os exercícios abertos. A reabertura devolve os registros para correções.
+ *
+ * As duas operações começam registrando a alteração da tabela FINANCEIRO, o que bloqueia a linha do contador
+ * até o commit. As escritas do financeiro passam pelo mesmo contador antes de verificar o exercício
+ * (ver {@link #validarAberto(int)}), então nenhum lançamento entra em um ano durante o seu fechamento.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ExercicioFinanceiroService {
+
+    private final ExercicioFinanceiroRepository exercicioRepository;
+    private final SaldoFechamentoRepository saldoFechamentoRepository;
+    private final FinanceiroRepository financeiroRepository;
+    private final FinanceiroArquivadoRepository financeiroArquivadoRepository;
+    private final VersaoTabelaService versaoTabelaService;
+    private final CacheConsultas cacheConsultas;
+
+    public void validarAberto(int ano) {
+        if (exercicioRepository.estaFechado(ano)) {
+            throw new ExercicioFechadoException("O exercício " + ano + " está fechado para lançamentos");
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<ExercicioFinanceiroResponse> listar() {
+        Map<Integer, List<SaldoFechamento>> saldosPorAno = saldoFechamentoRepository.findAll().stream()
+                .collect(Collectors.groupingBy(saldo -> saldo.getId().getAno()));
+        return exercicioRepository.findAllByOrderByAnoDesc().stream()
+                .map(exercicio -> toExercicioResponse(exercicio, saldosPorAno.getOrDefault(exercicio.getAno(), List.of())))
+                .toList();
+    }
+
+    @Transactional
+    public ExercicioFinanceiroResponse fechar(int ano) {
+        log.info("Iniciando fechamento do exercício financeiro. Ano: {}", ano);
+
+        if (ano >= LocalDate.now().getYear()) {
+            throw new PeriodoInvalidoException("Só é possível fechar exercícios anteriores ao ano atual");
+        }
+
+        versaoTabelaService.registrarAlteracao(TabelaVersionada.FINANCEIRO);
+        ExercicioFinanceiro exercicio = exercicioRepository.findById(ano)
+                .orElseGet(() -> ExercicioFinanceiro.builder().ano(ano).fechado(false).build());
+        if (Boolean.TRUE.equals(exercicio.getFechado())) {
+            throw new ExercicioFechadoException("O exercício " + ano + " já está fechado");
+        }
+
+        LocalDateTime inicio = LocalDate.of(ano, 1, 1).atStartOfDay();
+        LocalDateTime fim = inicio.plusYears(1);
+
+        List<SaldoFechamento> saldos = financeiroRepository.totalizar(inicio, fim, AgrupamentoPeriodo.ANO).stream()
+                .map(total -> new SaldoFechamento(
+                        new SaldoFechamentoId(ano, total.tipo()),
+                        valor(total.entrada()),
+                        valor(total.saida()),
+                        total.quantidade()))
+                .toList();
+        saldoFechamentoRepository.saveAll(saldos);
+
+        int arquivados = financeiroArquivadoRepository.arquivar(ano, inicio, fim);
+        int excluidos = financeiroRepository.excluirPeriodo(inicio, fim);
+        if (arquivados != excluidos) {
+            throw new IllegalStateException("Quantidade de registros arquivados (" + arquivados
+                    + ") diferente da quantidade removida (" + excluidos + ")");
+        }
+
+        exercicio.setFechado(true);
+        exercicio.setDataFechamento(LocalDateTime.now());
+        exercicio.setQuantidadeArquivada((long) arquivados);
+        exercicio = exercicioRepository.save(exercicio);
+
+        cacheConsultas.financeiroPorId().invalidarTodos();
+        log.info("Exercício financeiro fechado com sucesso. Ano: {}, Registros arquivados: {}", ano, arquivados);
+
+        return toExercicioResponse(exercicio, saldos);
+    }
+
+    @Transactional
+    public ExercicioFinanceiroResponse reabrir(int ano) {
+        log.info("Iniciando reabertura do exercício financeiro. Ano: {}", ano);
+
+        versaoTabelaService.registrarAlteracao(TabelaVersionada.FINANCEIRO);
+        ExercicioFinanceiro exercicio = exercicioRepository.findById(ano)
+                .filter(existente -> Boolean.TRUE.equals(existente.getFechado()))
+                .orElseThrow(() -> new PeriodoInvalidoException("O exercício " + ano + " não está fechado"));
+
+        int restaurados = financeiroArquivadoRepository.restaurar(ano);
+        int excluidos = financeiroArquivadoRepository.excluirPorExercicio(ano);
+        if (restaurados != excluidos) {
+            throw new IllegalStateException("Quantidade de registros restaurados (" + restaurados
+                    + ") diferente da quantidade removida do arquivo (" + excluidos + ")");
+        }
+        saldoFechamentoRepository.excluirPorAno(ano);
+
+        exercicio.setFechado(false);
+        exercicio.setDataReabertura(LocalDateTime.now());
+        exercicio.setQuantidadeArquivada(0L);
+        exercicio = exercicioRepository.save(exercicio);
+
+        log.info("Exercício financeiro reaberto com sucesso. Ano: {}, Registros restaurados: {}", ano, restaurados);
+
+        return toExercicioResponse(exercicio, List.of());
+    }
+
+    private static BigDecimal valor(BigDecimal valor) {
+        return valor != null ? valor : BigDecimal.ZERO;
+    }
+
+    private ExercicioFinanceiroResponse toExercicioResponse(ExercicioFinanceiro exercicio, List<SaldoFechamento> saldos) {
+        Map<TipoFinanceiro, TotaisFinanceiroResponse> saldosPorTipo = new EnumMap<>(TipoFinanceiro.class);
+        for (SaldoFechamento saldo : saldos) {
+            saldosPorTipo.put(saldo.getId().getTipo(), new TotaisFinanceiroResponse(
+                    saldo.getEntrada(),
+                    saldo.getSaida(),
+                    saldo.getEntrada().subtract(saldo.getSaida()),
+                    saldo.getQuantidade()));
+        }
+
+        return new ExercicioFinanceiroResponse(
+                exercicio.getAno(),
+                Boolean.TRUE.equals(exercicio.getFechado()),
+                exercicio.getDataFechamento(),
+                exercicio.getDataReabertura(),
+                exercicio.getQuantidadeArquivada(),
+                saldosPorTipo
+        );
+    }
+}
@@ -0,0 +1,240 @@
+package com.adbrassacoma.administrativo.domain.service;
+
+import com.adbrassacoma.administrativo.domain.enums.AgrupamentoPeriodo;
+import com.adbrassacoma.administrativo.domain.enums.TabelaVersionada;
+import com.adbrassacoma.administrativo.domain.enums.TipoFinanceiro;
+import com.adbrassacoma.administrativo.domain.model.ResumoMensalFinanceiro;
+import com.adbrassacoma.administrativo.domain.model.ResumoMensalFinanceiroId;
+import com.adbrassacoma.administrativo.infrastructure.dto.projection.TotalFinanceiroProjecao;
+import com.adbrassacoma.administrativo.infrastructure.dto.response.PeriodoFinanceiroResponse;
+import com.adbrassacoma.administrativo.infrastructure.dto.response.ResumoFinanceiroResponse;
+import com.adbrassacoma.administrativo.infrastructure.dto.response.SaldoFinanceiroResponse;
+import com.adbrassacoma.administrativo.infrastructure.dto.response.TotaisFinanceiroResponse;
+import com.adbrassacoma.administrativo.infrastructure.exception.PeriodoInvalidoException;
+import com.adbrassacoma.administrativo.infrastructure.repository.FinanceiroArquivadoRepository;
+import com.adbrassacoma.administrativo.infrastructure.repository.FinanceiroRepository;
+import com.adbrassacoma.administrativo.infrastructure.repository.ResumoMensalFinanceiroRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Totais do financeiro (entrada, saída, saldo e quantidade) por tipo e por período.
+ *
+ * O banco devolve uma linha por período e tipo; os totais gerais, por tipo e por período são
+ * derivados dessas linhas em memória, sem carregar os registros.
+ *
+ * Saldo e resumos de meses inteiros são lidos da tabela resumo_mensal_financeiro (uma linha por mês e tipo),
+ * atualizada na mesma transação de cada escrita do financeiro. A reconstrução periódica recalcula a tabela
+ * a partir dos registros e informa as divergências encontradas. Exercícios fechados continuam no resumo;
+ * totalizações fora de meses inteiros somam a tabela financeiro e o arquivo dos exercícios fechados.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FinanceiroResumoService {
+
+    // Limita a quantidade de grupos no agrupamento diário
+    private static final long MAXIMO_DIAS_AGRUPAMENTO_DIARIO = 366;
+
+    private final FinanceiroRepository financeiroRepository;
+    private final ResumoMensalFinanceiroRepository resumoMensalRepository;
+    private final FinanceiroArquivadoRepository financeiroArquivadoRepository;
+    private final VersaoTabelaService versaoTabelaService;
+
+    /**
+     * Aplica ao resumo do mês a variação de um registro financeiro. Deve ser chamado na transação da escrita,
+     * depois de registrar a alteração da tabela FINANCEIRO (ver {@link #reconstruir()}).
+     */
+    @Transactional
+    public void aplicarDelta(LocalDateTime dataRegistro, TipoFinanceiro tipo, BigDecimal entrada, BigDecimal saida,
+            long quantidade) {
+        BigDecimal deltaEntrada = entrada != null ? entrada : BigDecimal.ZERO;
+        BigDecimal deltaSaida = saida != null ? saida : BigDecimal.ZERO;
+        int ano = dataRegistro.getYear();
+        int mes = dataRegistro.getMonthValue();
+
+        if (resumoMensalRepository.somar(ano, mes, tipo, deltaEntrada, deltaSaida, quantidade) == 0) {
+            resumoMensalRepository.save(new ResumoMensalFinanceiro(
+                    new ResumoMensalFinanceiroId(ano, mes, tipo), deltaEntrada, deltaSaida, quantidade));
+        }
+    }
+
+    /**
+     * Recalcula o resumo mensal a partir da tabela financeiro e corrige as linhas divergentes.
+     *
+     * Registrar a alteração da tabela FINANCEIRO primeiro bloqueia a linha do contador até o commit: escritas
+     * em andamento terminam antes do recálculo e novas escritas aguardam, aplicando seus deltas sobre o resultado.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${financeiro.resumo.reconstrucao-cron:0 30 3 * * *}")
+    @Transactional
+    public void reconstruir() {
+        long inicio = System.nanoTime();
+        versaoTabelaService.registrarAlteracao(TabelaVersionada.FINANCEIRO);
+
+        Map<ResumoMensalFinanceiroId, ResumoMensalFinanceiro> atuais = new HashMap<>();
+        resumoMensalRepository.findAll().forEach(resumo -> atuais.put(resumo.getId(), resumo));
+
+        int divergencias = 0;
+        List<ResumoMensalFinanceiro> novos = new ArrayList<>();
+        // Exercícios fechados continuam no resumo, contados a partir do arquivo
+        List<TotalFinanceiroProjecao> totais = new ArrayList<>(financeiroRepository.totalizar(null, null, AgrupamentoPeriodo.MES));
+        totais.addAll(financeiroArquivadoRepository.totalizar(null, null, AgrupamentoPeriodo.MES));
+
+        for (TotalFinanceiroProjecao total : totais) {
+            ResumoMensalFinanceiroId id = new ResumoMensalFinanceiroId(total.ano(), total.mes(), total.tipo());
+            BigDecimal entrada = total.entrada() != null ? total.entrada() : BigDecimal.ZERO;
+            BigDecimal saida = total.saida() != null ? total.saida() : BigDecimal.ZERO;
+            ResumoMensalFinanceiro atual = atuais.remove(id);
+
+            if (atual == null) {
+                novos.add(new ResumoMensalFinanceiro(id, entrada, saida, total.quantidade()));
+                divergencias++;
+                log.warn("Resumo mensal ausente. Competência: {}/{}, Tipo: {}", id.getMes(), id.getAno(), id.getTipo());
+            } else if (atual.getEntrada().compareTo(entrada) != 0 || atual.getSaida().compareTo(saida) != 0
+                    || !atual.getQuantidade().equals(total.quantidade())) {
+                divergencias++;
+                log.warn("Resumo mensal divergente. Competência: {}/{}, Tipo: {}, Entrada: {} -> {}, Saída: {} -> {}, Quantidade: {} -> {}",
+                        id.getMes(), id.getAno(), id.getTipo(), atual.getEntrada(), entrada, atual.getSaida(), saida,
+                        atual.getQuantidade(), total.quantidade());
+                atual.setEntrada(entrada);
+                atual.setSaida(saida);
+                atual.setQuantidade(total.quantidade());
+            }
+        }
+
+        // Linhas sem registros correspondentes: só divergem se ainda tiverem valores
+        for (ResumoMensalFinanceiro restante : atuais.values()) {
+            if (restante.getQuantidade() != 0 || restante.getEntrada().signum() != 0 || restante.getSaida().signum() != 0) {
+                divergencias++;
+                log.warn("Resumo mensal sem registros. Competência: {}/{}, Tipo: {}, Quantidade: {}",
+                        restante.getId().getMes(), restante.getId().getAno(), restante.getId().getTipo(), restante.getQuantidade());
+            }
+        }
+        resumoMensalRepository.deleteAll(atuais.values());
+        resumoMensalRepository.saveAll(novos);
+
+        if (divergencias > 0) {
+            log.warn("Resumo mensal do financeiro reconstruído com {} divergências. Tempo: {}ms",
+                    divergencias, (System.nanoTime() - inicio) / 1_000_000);
+        } else {
+            log.info("Resumo mensal do financeiro reconstruído sem divergências. Tempo: {}ms",
+                    (System.nanoTime() - inicio) / 1_000_000);
+        }
+    }
+
+    /**
+     * Saldo acumulado de todo o histórico, somando as linhas do resumo mensal.
+     */
+    @Transactional(readOnly = true)
+    public SaldoFinanceiroResponse saldo() {
+        Acumulador geral = new Acumulador();
+        Map<TipoFinanceiro, Acumulador> porTipo = new EnumMap<>(TipoFinanceiro.class);
+        for (TotalFinanceiroProjecao linha : resumoMensalRepository.listarTodos()) {
+            geral.somar(linha);
+            porTipo.computeIfAbsent(linha.tipo(), tipo -> new Acumulador()).somar(linha);
+        }
+        return new SaldoFinanceiroResponse(geral.toResponse(), toResponse(porTipo));
+    }
+
+    @Transactional(readOnly = true)
+    public ResumoFinanceiroResponse resumir(LocalDate dataInicio, LocalDate dataFim, AgrupamentoPeriodo agrupamento) {
+        if (dataInicio.isAfter(dataFim)) {
+            throw new PeriodoInvalidoException("A data inicial deve ser anterior ou igual à data final");
+        }
+        if (agrupamento == AgrupamentoPeriodo.DIA
+                && ChronoUnit.DAYS.between(dataInicio, dataFim) >= MAXIMO_DIAS_AGRUPAMENTO_DIARIO) {
+            throw new PeriodoInvalidoException("O agrupamento por dia aceita períodos de até "
+                    + MAXIMO_DIAS_AGRUPAMENTO_DIARIO + " dias");
+        }
+
+        long inicio = System.nanoTime();
+        List<TotalFinanceiroProjecao> linhas;
+        if (agrupamento != AgrupamentoPeriodo.DIA && dataInicio.getDayOfMonth() == 1
+                && dataFim.equals(dataFim.with(TemporalAdjusters.lastDayOfMonth()))) {
+            // Meses inteiros: o resumo mensal já tem os totais
+            linhas = resumoMensalRepository.listarPorCompetencia(
+                    dataInicio.getYear() * 100 + dataInicio.getMonthValue(),
+                    dataFim.getYear() * 100 + dataFim.getMonthValue());
+        } else {
+            // Exercícios fechados estão no arquivo; as duas fontes são somadas para o resultado não depender do formato do período
+            LocalDateTime inicioPeriodo = dataInicio.atStartOfDay();
+            LocalDateTime fimPeriodo = dataFim.plusDays(1).atStartOfDay();
+            linhas = new ArrayList<>(financeiroRepository.totalizar(inicioPeriodo, fimPeriodo, agrupamento));
+            linhas.addAll(financeiroArquivadoRepository.totalizar(inicioPeriodo, fimPeriodo, agrupamento));
+        }
+
+        Acumulador geral = new Acumulador();
+        Map<TipoFinanceiro, Acumulador> porTipo = new EnumMap<>(TipoFinanceiro.class);
+        Map<LocalDate, Map<TipoFinanceiro, Acumulador>> porPeriodo = new TreeMap<>();
+
+        for (TotalFinanceiroProjecao linha : linhas) {
+            LocalDate periodo = agrupamento == AgrupamentoPeriodo.ANO
+                    ? LocalDate.of(linha.ano(), 1, 1)
+                    : LocalDate.of(linha.ano(), linha.mes(), linha.dia());
+            geral.somar(linha);
+            porTipo.computeIfAbsent(linha.tipo(), tipo -> new Acumulador()).somar(linha);
+            porPeriodo.computeIfAbsent(periodo, p -> new EnumMap<>(TipoFinanceiro.class))
+                    .computeIfAbsent(linha.tipo(), tipo -> new Acumulador()).somar(linha);
+        }
+
+        List<PeriodoFinanceiroResponse> periodos = new ArrayList<>(porPeriodo.size());
+        porPeriodo.forEach((periodo, tipos) -> {
+            Acumulador totalPeriodo = new Acumulador();
+            tipos.values().forEach(totalPeriodo::somar);
+            periodos.add(new PeriodoFinanceiroResponse(periodo, totalPeriodo.toResponse(), toResponse(tipos)));
+        });
+
+        log.debug("Resumo financeiro calculado. Período: {} a {}, Agrupamento: {}, Grupos: {}, Tempo: {}ms",
+                dataInicio, dataFim, agrupamento, linhas.size(), (System.nanoTime() - inicio) / 1_000_000);
+
+        return new ResumoFinanceiroResponse(dataInicio, dataFim, agrupamento, geral.toResponse(), toResponse(porTipo), periodos);
+    }
+
+    private static Map<TipoFinanceiro, TotaisFinanceiroResponse> toResponse(Map<TipoFinanceiro, Acumulador> acumuladores) {
+        Map<TipoFinanceiro, TotaisFinanceiroResponse> totais = new EnumMap<>(TipoFinanceiro.class);
+        acumuladores.forEach((tipo, acumulador) -> totais.put(tipo, acumulador.toResponse()));
+        return totais;
+    }
+
+    private static final class Acumulador {
+
+        private BigDecimal entrada = BigDecimal.ZERO;
+        private BigDecimal saida = BigDecimal.ZERO;
+        private long quantidade;
+
+        void somar(TotalFinanceiroProjecao linha) {
+            // SUM retorna nulo quando todos os valores do grupo são nulos
+            entrada = linha.entrada() != null ? entrada.add(linha.entrada()) : entrada;
+            saida = linha.saida() != null ? saida.add(linha.saida()) : saida;
+            quantidade += linha.quantidade();
+        }
+
+        void somar(Acumulador outro) {
+            entrada = entrada.add(outro.entrada);
+            saida = saida.add(outro.saida);
+            quantidade += outro.quantidade;
+        }
+
+        TotaisFinanceiroResponse toResponse() {
+            return new TotaisFinanceiroResponse(entrada, saida, entrada.subtract(saida), quantidade);
+        }
+    }
+}
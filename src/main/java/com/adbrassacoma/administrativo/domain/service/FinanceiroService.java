@@ -1,14 +1,24 @@
 package com.adbrassacoma.administrativo.domain.service;
 
+import com.adbrassacoma.administrativo.domain.enums.TabelaVersionada;
 import com.adbrassacoma.administrativo.domain.enums.TipoFinanceiro;
 import com.adbrassacoma.administrativo.domain.model.Financeiro;
 import com.adbrassacoma.administrativo.domain.model.Membros;
+import com.adbrassacoma.administrativo.infrastructure.config.CacheConsultas;
+import com.adbrassacoma.administrativo.infrastructure.dto.projection.FinanceiroProjecao;
 import com.adbrassacoma.administrativo.infrastructure.dto.request.AtualizarFinanceiroRequest;
 import com.adbrassacoma.administrativo.infrastructure.dto.request.CadastroFinanceiroRequest;
+import com.adbrassacoma.administrativo.infrastructure.dto.request.LoteFinanceiroRequest;
 import com.adbrassacoma.administrativo.infrastructure.dto.response.FinanceiroResponse;
+import com.adbrassacoma.administrativo.infrastructure.dto.response.LoteFinanceiroResponse;
 import com.adbrassacoma.administrativo.infrastructure.dto.response.MembroFinanceiroResponse;
+import com.adbrassacoma.administrativo.infrastructure.dto.response.PaginaCursorResponse;
+import com.adbrassacoma.administrativo.infrastructure.dto.response.ResultadoLancamentoResponse;
+import com.adbrassacoma.administrativo.infrastructure.exception.CursorInvalidoException;
 import com.adbrassacoma.administrativo.infrastructure.exception.FinanceiroNaoEncontradoException;
 import com.adbrassacoma.administrativo.infrastructure.exception.MembroNaoEncontradoException;
+import com.adbrassacoma.administrativo.infrastructure.exception.PeriodoInvalidoException;
+import com.adbrassacoma.administrativo.infrastructure.repository.FinanceiroArquivadoRepository;
 import com.adbrassacoma.administrativo.infrastructure.repository.FinanceiroRepository;
 import com.adbrassacoma.administrativo.infrastructure.repository.MembrosRepository;
 import com.adbrassacoma.administrativo.infrastructure.validator.CpfValidator;
@@ -18,15 +28,35 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class FinanceiroService {
 
+    private static final int TAMANHO_PAGINA_PADRAO = 50;
+    private static final int TAMANHO_PAGINA_MAXIMO = 200;
+
     private final FinanceiroRepository financeiroRepository;
     private final MembrosRepository membrosRepository;
+    private final CacheConsultas cacheConsultas;
+    private final VersaoTabelaService versaoTabelaService;
+    private final FinanceiroResumoService financeiroResumoService;
+    private final ExercicioFinanceiroService exercicioFinanceiroService;
+    private final FinanceiroArquivadoRepository financeiroArquivadoRepository;
 
     @Transactional
     public FinanceiroResponse cadastrar(CadastroFinanceiroRequest request) {
@@ -53,54 +83,188 @@ public class FinanceiroService {
                 .membro(membro)
                 .build();
 
+        // O contador bloqueia o fechamento concorrente do exercício (ver ExercicioFinanceiroService)
+        versaoTabelaService.registrarAlteracao(TabelaVersionada.FINANCEIRO);
+        exercicioFinanceiroService.validarAberto(LocalDate.now().getYear());
+
         financeiro = financeiroRepository.save(financeiro);
+        financeiroResumoService.aplicarDelta(financeiro.getDataRegistro(), financeiro.getTipo(),
+                financeiro.getEntrada(), financeiro.getSaida(), 1);
         log.info("Registro financeiro cadastrado com sucesso. ID: {}, Tipo: {}", financeiro.getId(), financeiro.getTipo());
 
         return toFinanceiroResponse(financeiro);
     }
 
-    @Transactional(readOnly = true)
-    public List<FinanceiroResponse> listarTodos() {
-        return financeiroRepository.findAll().stream()
-                .map(this::toFinanceiroResponse)
-                .toList();
+    /**
+     * Cadastra vários lançamentos em uma única transação. Cada item é validado individualmente e os rejeitados
+     * são informados no resultado sem impedir os demais. Os membros referenciados são verificados em uma única
+     * consulta e os INSERTs são enviados em lotes JDBC.
+     */
+    @Transactional
+    public LoteFinanceiroResponse cadastrarLote(LoteFinanceiroRequest request) {
+        List<CadastroFinanceiroRequest> lancamentos = request.lancamentos();
+        log.info("Iniciando cadastro de lote financeiro. Lançamentos: {}", lancamentos.size());
+        long inicio = System.nanoTime();
+
+        Set<Long> idsMembros = lancamentos.stream()
+                .map(CadastroFinanceiroRequest::membroId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Set<Long> membrosExistentes = idsMembros.isEmpty()
+                ? Set.of()
+                : new HashSet<>(membrosRepository.buscarIdsExistentes(idsMembros));
+
+        List<ResultadoLancamentoResponse> resultados = new ArrayList<>(lancamentos.size());
+        List<Integer> indicesValidos = new ArrayList<>();
+        List<Financeiro> financeiros = new ArrayList<>();
+        for (int i = 0; i < lancamentos.size(); i++) {
+            CadastroFinanceiroRequest lancamento = lancamentos.get(i);
+            try {
+                validarValores(lancamento.entrada(), lancamento.saida());
+            } catch (IllegalArgumentException e) {
+                resultados.add(new ResultadoLancamentoResponse(i, null, List.of(e.getMessage())));
+                continue;
+            }
+            if (lancamento.membroId() != null && !membrosExistentes.contains(lancamento.membroId())) {
+                resultados.add(new ResultadoLancamentoResponse(i, null,
+                        List.of("Membro não encontrado com ID: " + lancamento.membroId())));
+                continue;
+            }
+
+            // Referência sem SELECT: a existência já foi verificada acima
+            financeiros.add(Financeiro.builder()
+                    .entrada(lancamento.entrada() != null ? lancamento.entrada() : BigDecimal.ZERO)
+                    .saida(lancamento.saida() != null ? lancamento.saida() : BigDecimal.ZERO)
+                    .tipo(lancamento.tipo())
+                    .observacao(lancamento.observacao())
+                    .membro(lancamento.membroId() != null ? membrosRepository.getReferenceById(lancamento.membroId()) : null)
+                    .build());
+            indicesValidos.add(i);
+            resultados.add(null);
+        }
+
+        if (!financeiros.isEmpty()) {
+            versaoTabelaService.registrarAlteracao(TabelaVersionada.FINANCEIRO);
+            exercicioFinanceiroService.validarAberto(LocalDate.now().getYear());
+
+            financeiros = financeiroRepository.saveAll(financeiros);
+            for (int i = 0; i < financeiros.size(); i++) {
+                int indice = indicesValidos.get(i);
+                resultados.set(indice, new ResultadoLancamentoResponse(indice, financeiros.get(i).getId(), List.of()));
+            }
+
+            // Um delta por mês e tipo em vez de um por lançamento
+            Map<TipoFinanceiro, List<Financeiro>> porTipo = financeiros.stream()
+                    .collect(Collectors.groupingBy(Financeiro::getTipo));
+            porTipo.forEach((tipo, registros) -> registros.stream()
+                    .collect(Collectors.groupingBy(financeiro -> YearMonth.from(financeiro.getDataRegistro())))
+                    .forEach((mes, doMes) -> financeiroResumoService.aplicarDelta(
+                            doMes.get(0).getDataRegistro(), tipo,
+                            doMes.stream().map(Financeiro::getEntrada).reduce(BigDecimal.ZERO, BigDecimal::add),
+                            doMes.stream().map(Financeiro::getSaida).reduce(BigDecimal.ZERO, BigDecimal::add),
+                            doMes.size())));
+        }
+
+        int rejeitados = lancamentos.size() - financeiros.size();
+        log.info("Lote financeiro concluído. Cadastrados: {}, Rejeitados: {}, Tempo: {}ms",
+                financeiros.size(), rejeitados, (System.nanoTime() - inicio) / 1_000_000);
+
+        return new LoteFinanceiroResponse(lancamentos.size(), financeiros.size(), rejeitados, resultados);
     }
 
+    /**
+     * ETag da listagem, derivado do contador de alterações da tabela (sem consultar os registros).
+     */
+    public String etagListagem() {
+        return "financeiro-" + versaoTabelaService.versao(TabelaVersionada.FINANCEIRO);
+    }
+
+    /**
+     * Livro-caixa paginado por keyset, do registro mais recente para o mais antigo, com filtros opcionais
+     * de período (datas inclusivas), tipo e membro. O total só é contado quando solicitado.
+     */
     @Transactional(readOnly = true)
-    public FinanceiroResponse buscarPorId(Long id) {
-        Financeiro financeiro = financeiroRepository.findById(id)
-                .orElseThrow(() -> new FinanceiroNaoEncontradoException("Financeiro não encontrado com ID: " + id));
-        return toFinanceiroResponse(financeiro);
+    public PaginaCursorResponse<FinanceiroResponse> listarPaginado(String cursor, Integer tamanho, LocalDate dataInicio,
+            LocalDate dataFim, TipoFinanceiro tipo, Long membroId, boolean incluirTotal) {
+        if (dataInicio != null && dataFim != null && dataInicio.isAfter(dataFim)) {
+            throw new PeriodoInvalidoException("A data inicial deve ser anterior ou igual à data final");
+        }
+        int tamanhoPagina = tamanho == null ? TAMANHO_PAGINA_PADRAO : Math.max(1, Math.min(tamanho, TAMANHO_PAGINA_MAXIMO));
+        CursorFinanceiro posicao = cursor == null || cursor.isBlank() ? null : CursorFinanceiro.decodificar(cursor);
+        LocalDateTime inicio = dataInicio != null ? dataInicio.atStartOfDay() : null;
+        LocalDateTime fim = dataFim != null ? dataFim.plusDays(1).atStartOfDay() : null;
+
+        // Busca um item a mais apenas para saber se existe próxima página
+        List<FinanceiroProjecao> financeiros = financeiroRepository.buscarPagina(
+                posicao != null ? posicao.dataRegistro() : null,
+                posicao != null ? posicao.id() : null,
+                inicio, fim, tipo, membroId, tamanhoPagina + 1);
+
+        boolean possuiMais = financeiros.size() > tamanhoPagina;
+        List<FinanceiroProjecao> pagina = possuiMais ? financeiros.subList(0, tamanhoPagina) : financeiros;
+
+        String proximoCursor = null;
+        if (possuiMais) {
+            FinanceiroProjecao ultimo = pagina.get(pagina.size() - 1);
+            proximoCursor = new CursorFinanceiro(ultimo.dataRegistro(), ultimo.id()).codificar();
+        }
+
+        Long total = incluirTotal ? financeiroRepository.contar(inicio, fim, tipo, membroId) : null;
+
+        return new PaginaCursorResponse<>(
+                pagina.stream().map(this::toFinanceiroResponse).toList(),
+                pagina.size(),
+                possuiMais,
+                proximoCursor,
+                total
+        );
     }
 
+    /**
+     * Registros de um exercício fechado, lidos de financeiro_arquivo com a mesma paginação do livro-caixa.
+     */
     @Transactional(readOnly = true)
-    public List<FinanceiroResponse> buscarPorTipo(TipoFinanceiro tipo) {
-        List<Financeiro> financeiros = financeiroRepository.findByTipo(tipo);
-        
-        if (financeiros.isEmpty()) {
-            throw new FinanceiroNaoEncontradoException("Nenhum registro financeiro encontrado com tipo: " + tipo);
+    public PaginaCursorResponse<FinanceiroResponse> listarArquivados(int ano, String cursor, Integer tamanho,
+            TipoFinanceiro tipo, Long membroId) {
+        int tamanhoPagina = tamanho == null ? TAMANHO_PAGINA_PADRAO : Math.max(1, Math.min(tamanho, TAMANHO_PAGINA_MAXIMO));
+        CursorFinanceiro posicao = cursor == null || cursor.isBlank() ? null : CursorFinanceiro.decodificar(cursor);
+
+        List<FinanceiroProjecao> financeiros = financeiroArquivadoRepository.buscarPagina(ano,
+                posicao != null ? posicao.dataRegistro() : null,
+                posicao != null ? posicao.id() : null,
+                tipo, membroId, tamanhoPagina + 1);
+
+        boolean possuiMais = financeiros.size() > tamanhoPagina;
+        List<FinanceiroProjecao> pagina = possuiMais ? financeiros.subList(0, tamanhoPagina) : financeiros;
+
+        String proximoCursor = null;
+        if (possuiMais) {
+            FinanceiroProjecao ultimo = pagina.get(pagina.size() - 1);
+            proximoCursor = new CursorFinanceiro(ultimo.dataRegistro(), ultimo.id()).codificar();
         }
-        
-        return financeiros.stream()
-                .map(this::toFinanceiroResponse)
-                .toList();
+
+        return new PaginaCursorResponse<>(
+                pagina.stream().map(this::toFinanceiroResponse).toList(),
+                pagina.size(),
+                possuiMais,
+                proximoCursor,
+                null
+        );
+    }
+
+    // Consulta de detalhe via cache, sem transação própria (ver MembroService.buscarPorId)
+    public FinanceiroResponse buscarPorId(Long id) {
+        return cacheConsultas.financeiroPorId().obter(id, chave -> toFinanceiroResponse(financeiroRepository.buscarPorId(chave)
+                .orElseThrow(() -> new FinanceiroNaoEncontradoException("Financeiro não encontrado com ID: " + chave))));
     }
 
     @Transactional(readOnly = true)
-    public List<FinanceiroResponse> buscarPorMembro(Long membroId) {
+    public PaginaCursorResponse<FinanceiroResponse> buscarPorMembro(Long membroId, String cursor, Integer tamanho,
+            LocalDate dataInicio, LocalDate dataFim, TipoFinanceiro tipo, boolean incluirTotal) {
         if (!membrosRepository.existsById(membroId)) {
             throw new MembroNaoEncontradoException("Membro não encontrado com ID: " + membroId);
         }
-        
-        List<Financeiro> financeiros = financeiroRepository.findByMembroId(membroId);
-        
-        if (financeiros.isEmpty()) {
-            throw new FinanceiroNaoEncontradoException("Nenhum registro financeiro encontrado para o membro com ID: " + membroId);
-        }
-        
-        return financeiros.stream()
-                .map(this::toFinanceiroResponse)
-                .toList();
+        return listarPaginado(cursor, tamanho, dataInicio, dataFim, tipo, membroId, incluirTotal);
     }
 
     @Transactional
@@ -125,6 +289,14 @@ public class FinanceiroService {
                     });
         }
 
+        versaoTabelaService.registrarAlteracao(TabelaVersionada.FINANCEIRO);
+        exercicioFinanceiroService.validarAberto(financeiro.getDataRegistro().getYear());
+
+        TipoFinanceiro tipoAnterior = financeiro.getTipo();
+        BigDecimal entradaAnterior = financeiro.getEntrada();
+        BigDecimal saidaAnterior = financeiro.getSaida();
+
+        cacheConsultas.financeiroPorId().invalidar(id);
         financeiro.setEntrada(request.entrada() != null ? request.entrada() : BigDecimal.ZERO);
         financeiro.setSaida(request.saida() != null ? request.saida() : BigDecimal.ZERO);
         financeiro.setTipo(request.tipo());
@@ -132,6 +304,16 @@ public class FinanceiroService {
         financeiro.setMembro(membro);
 
         financeiro = financeiroRepository.save(financeiro);
+        // A data de registro não muda: a variação fica no mesmo mês, mas pode trocar de tipo
+        if (tipoAnterior == financeiro.getTipo()) {
+            financeiroResumoService.aplicarDelta(financeiro.getDataRegistro(), financeiro.getTipo(),
+                    subtrair(financeiro.getEntrada(), entradaAnterior), subtrair(financeiro.getSaida(), saidaAnterior), 0);
+        } else {
+            financeiroResumoService.aplicarDelta(financeiro.getDataRegistro(), tipoAnterior,
+                    negar(entradaAnterior), negar(saidaAnterior), -1);
+            financeiroResumoService.aplicarDelta(financeiro.getDataRegistro(), financeiro.getTipo(),
+                    financeiro.getEntrada(), financeiro.getSaida(), 1);
+        }
         log.info("Registro financeiro atualizado com sucesso. ID: {}, Tipo: {}", financeiro.getId(), financeiro.getTipo());
 
         return toFinanceiroResponse(financeiro);
@@ -141,12 +323,19 @@ public class FinanceiroService {
     public void deletar(Long id) {
         log.info("Iniciando exclusão de registro financeiro. ID: {}", id);
         
-        if (!financeiroRepository.existsById(id)) {
-            log.warn("Tentativa de deletar registro financeiro inexistente. ID: {}", id);
-            throw new FinanceiroNaoEncontradoException("Financeiro não encontrado com ID: " + id);
-        }
-        
-        financeiroRepository.deleteById(id);
+        Financeiro financeiro = financeiroRepository.findById(id)
+                .orElseThrow(() -> {
+                    log.warn("Tentativa de deletar registro financeiro inexistente. ID: {}", id);
+                    return new FinanceiroNaoEncontradoException("Financeiro não encontrado com ID: " + id);
+                });
+
+        versaoTabelaService.registrarAlteracao(TabelaVersionada.FINANCEIRO);
+        exercicioFinanceiroService.validarAberto(financeiro.getDataRegistro().getYear());
+
+        financeiroRepository.delete(financeiro);
+        financeiroResumoService.aplicarDelta(financeiro.getDataRegistro(), financeiro.getTipo(),
+                negar(financeiro.getEntrada()), negar(financeiro.getSaida()), -1);
+        cacheConsultas.financeiroPorId().invalidar(id);
         log.info("Registro financeiro deletado com sucesso. ID: {}", id);
     }
 
@@ -164,6 +353,35 @@ public class FinanceiroService {
         }
     }
 
+    private static BigDecimal subtrair(BigDecimal valor, BigDecimal anterior) {
+        return (valor != null ? valor : BigDecimal.ZERO).subtract(anterior != null ? anterior : BigDecimal.ZERO);
+    }
+
+    private static BigDecimal negar(BigDecimal valor) {
+        return valor != null ? valor.negate() : BigDecimal.ZERO;
+    }
+
+    private record CursorFinanceiro(LocalDateTime dataRegistro, Long id) {
+
+        String codificar() {
+            String valor = dataRegistro + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static CursorFinanceiro decodificar(String cursor) {
+            try {
+                String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                String[] partes = valor.split("\\|", 2);
+                if (partes.length != 2) {
+                    throw new CursorInvalidoException("Cursor de paginação inválido");
+                }
+                return new CursorFinanceiro(LocalDateTime.parse(partes[0]), Long.parseLong(partes[1]));
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                throw new CursorInvalidoException("Cursor de paginação inválido");
+            }
+        }
+    }
+
     private FinanceiroResponse toFinanceiroResponse(Financeiro financeiro) {
         MembroFinanceiroResponse membroResponse = null;
         if (financeiro.getMembro() != null) {
@@ -184,5 +402,26 @@ public class FinanceiroService {
                 membroResponse
         );
     }
+
+    private FinanceiroResponse toFinanceiroResponse(FinanceiroProjecao financeiro) {
+        MembroFinanceiroResponse membroResponse = null;
+        if (financeiro.membroId() != null) {
+            membroResponse = new MembroFinanceiroResponse(
+                    financeiro.membroId(),
+                    financeiro.membroNome(),
+                    CpfValidator.format(financeiro.membroCpf())
+            );
+        }
+
+        return new FinanceiroResponse(
+                financeiro.id(),
+                financeiro.entrada(),
+                financeiro.saida(),
+                financeiro.tipo(),
+                financeiro.observacao(),
+                financeiro.dataRegistro(),
+                membroResponse
+        );
+    }
 }
 
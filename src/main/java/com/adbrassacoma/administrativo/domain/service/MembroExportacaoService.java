@@ -0,0 +1,121 @@
+package com.adbrassacoma.administrativo.domain.service;
+
+import com.adbrassacoma.administrativo.domain.enums.FormatoExportacao;
+import com.adbrassacoma.administrativo.infrastructure.dto.projection.MembroProjecao;
+import com.adbrassacoma.administrativo.infrastructure.dto.response.EnderecoResponse;
+import com.adbrassacoma.administrativo.infrastructure.dto.response.MembroResponse;
+import com.adbrassacoma.administrativo.infrastructure.repository.MembrosRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Exportação completa do cadastro de membros escrita diretamente na resposta.
+ *
+ * Os registros são lidos como projeções por um cursor com fetch size fixo e enviados ao cliente
+ * a cada lote, então o uso de memória não cresce com a quantidade de membros.
+ */
+@Slf4j
+@Service
+public class MembroExportacaoService {
+
+    private static final int TAMANHO_LOTE = 500;
+
+    private static final String CABECALHO_CSV =
+            "id,nome,rg,cpf,ri,cargo,rua,numero,cep,bairro,cidade,estado,complemento";
+
+    private final MembrosRepository membrosRepository;
+    private final MembroService membroService;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    public MembroExportacaoService(
+            MembrosRepository membrosRepository,
+            MembroService membroService,
+            PlatformTransactionManager transactionManager) {
+        this.membrosRepository = membrosRepository;
+        this.membroService = membroService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.objectMapper = new ObjectMapper();
+        this.objectMapper.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+    }
+
+    public void exportar(FormatoExportacao formato, OutputStream saida) {
+        log.info("Iniciando exportação de membros. Formato: {}", formato);
+
+        long total = transactionTemplate.execute(status -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8));
+            long escritos = 0;
+
+            try (Stream<MembroProjecao> membros = membrosRepository.streamTodos()) {
+                if (formato == FormatoExportacao.CSV) {
+                    writer.write(CABECALHO_CSV);
+                    writer.write('\n');
+                }
+
+                Iterator<MembroProjecao> iterator = membros.iterator();
+                while (iterator.hasNext()) {
+                    MembroResponse membro = membroService.toMembroResponse(iterator.next());
+                    if (formato == FormatoExportacao.CSV) {
+                        escreverCsv(writer, membro);
+                    } else {
+                        writer.write(objectMapper.writeValueAsString(membro));
+                        writer.write('\n');
+                    }
+
+                    if (++escritos % TAMANHO_LOTE == 0) {
+                        // Envia o lote ao cliente
+                        writer.flush();
+                    }
+                }
+                writer.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return escritos;
+        });
+
+        log.info("Exportação de membros concluída. Formato: {}, Registros: {}", formato, total);
+    }
+
+    private void escreverCsv(Writer writer, MembroResponse membro) throws IOException {
+        EnderecoResponse endereco = membro.endereco();
+        Object[] colunas = {
+                membro.id(), membro.nome(), membro.rg(), membro.cpf(), membro.ri(), membro.cargo(),
+                endereco.rua(), endereco.numero(), endereco.cep(), endereco.bairro(),
+                endereco.cidade(), endereco.estado(), endereco.complemento()
+        };
+        for (int i = 0; i < colunas.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(escaparCsv(colunas[i]));
+        }
+        writer.write('\n');
+    }
+
+    private static String escaparCsv(Object valor) {
+        if (valor == null) {
+            return "";
+        }
+        String texto = valor.toString();
+        if (texto.indexOf(',') < 0 && texto.indexOf('"') < 0 && texto.indexOf('\n') < 0 && texto.indexOf('\r') < 0) {
+            return texto;
+        }
+        return '"' + texto.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,403 @@
+package com.adbrassacoma.administrativo.domain.service;
+
+import com.adbrassacoma.administrativo.domain.enums.FormatoExportacao;
+import com.adbrassacoma.administrativo.domain.model.Membros;
+import com.adbrassacoma.administrativo.infrastructure.dto.request.CadastroMembroRequest;
+import com.adbrassacoma.administrativo.infrastructure.dto.request.EnderecoRequest;
+import com.adbrassacoma.administrativo.infrastructure.dto.response.ErroImportacaoResponse;
+import com.adbrassacoma.administrativo.infrastructure.dto.response.ImportacaoMembrosResponse;
+import com.adbrassacoma.administrativo.infrastructure.exception.ImportacaoInvalidaException;
+import com.adbrassacoma.administrativo.infrastructure.repository.MembrosRepository;
+import com.adbrassacoma.administrativo.infrastructure.validator.CpfValidator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.LineNumberReader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Importação em lote de membros a partir de CSV ou NDJSON (o mesmo formato da exportação).
+ *
+ * As linhas são validadas em paralelo, duplicidades são verificadas dentro do arquivo e contra o
+ * banco com consultas por conjunto, e as linhas válidas são gravadas em lotes JDBC, um lote por
+ * transação. Linhas rejeitadas não impedem a gravação das demais e são devolvidas no relatório.
+ */
+@Slf4j
+@Service
+public class MembroImportacaoService {
+
+    private static final List<String> COLUNAS_OBRIGATORIAS = List.of(
+            "nome", "rg", "cpf", "ri", "cargo", "rua", "numero", "cep", "bairro", "cidade", "estado");
+
+    // Limite de valores por lista IN na verificação contra o banco
+    private static final int TAMANHO_CONSULTA = 1000;
+
+    private final MembrosRepository membrosRepository;
+    private final MembroNomeIndex membroNomeIndex;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final int maxLinhas;
+    private final int tamanhoLote;
+
+    public MembroImportacaoService(
+            MembrosRepository membrosRepository,
+            MembroNomeIndex membroNomeIndex,
+            EntityManager entityManager,
+            Validator validator,
+            PlatformTransactionManager transactionManager,
+            @Value("${membros.importacao.max-linhas:20000}") int maxLinhas,
+            @Value("${membros.importacao.tamanho-lote:500}") int tamanhoLote) {
+        this.membrosRepository = membrosRepository;
+        this.membroNomeIndex = membroNomeIndex;
+        this.entityManager = entityManager;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = new ObjectMapper();
+        this.objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        this.maxLinhas = maxLinhas;
+        this.tamanhoLote = tamanhoLote;
+    }
+
+    public ImportacaoMembrosResponse importar(FormatoExportacao formato, InputStream entrada) {
+        long inicio = System.nanoTime();
+        log.info("Iniciando importação de membros. Formato: {}", formato);
+
+        List<Linha> linhas;
+        try {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8));
+            linhas = formato == FormatoExportacao.CSV ? lerCsv(reader) : lerNdjson(reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        // Validação de campos e dígitos do CPF não depende de I/O
+        linhas.parallelStream().forEach(this::validar);
+        marcarDuplicadosNoArquivo(linhas);
+        marcarDuplicadosNoBanco(linhas);
+
+        List<Linha> validas = linhas.stream().filter(Linha::valida).toList();
+        int importados = gravar(validas);
+
+        List<ErroImportacaoResponse> erros = linhas.stream()
+                .filter(linha -> !linha.valida())
+                .map(linha -> new ErroImportacaoResponse(linha.numero, linha.cpfInformado(), linha.erros))
+                .toList();
+
+        log.info("Importação de membros concluída. Linhas: {}, Importados: {}, Rejeitados: {}, Tempo: {}ms",
+                linhas.size(), importados, erros.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio));
+        return new ImportacaoMembrosResponse(linhas.size(), importados, erros.size(), erros);
+    }
+
+    private List<Linha> lerNdjson(BufferedReader reader) throws IOException {
+        List<Linha> linhas = new ArrayList<>();
+        String texto;
+        int numero = 0;
+        while ((texto = reader.readLine()) != null) {
+            numero++;
+            if (texto.isBlank()) {
+                continue;
+            }
+            verificarLimite(linhas);
+            try {
+                linhas.add(new Linha(numero, objectMapper.readValue(texto, CadastroMembroRequest.class)));
+            } catch (JsonProcessingException e) {
+                linhas.add(Linha.comErro(numero, "JSON inválido: " + e.getOriginalMessage()));
+            }
+        }
+        return linhas;
+    }
+
+    private List<Linha> lerCsv(BufferedReader entrada) throws IOException {
+        // Campos entre aspas podem ter quebras de linha: os erros citam a linha do arquivo onde o registro começa
+        LineNumberReader reader = new LineNumberReader(entrada);
+        String primeira = reader.readLine();
+        if (primeira == null || primeira.isBlank()) {
+            throw new ImportacaoInvalidaException("Arquivo CSV vazio");
+        }
+        // Planilhas em português costumam exportar CSV separado por ponto e vírgula
+        char separador = primeira.indexOf(';') >= 0 && primeira.indexOf(',') < 0 ? ';' : ',';
+
+        // O Excel grava BOM no início de arquivos UTF-8
+        Map<String, Integer> colunas = new HashMap<>();
+        List<String> cabecalho = separarCsv(new BufferedReader(new StringReader(primeira.replace("\uFEFF", ""))), separador);
+        for (int i = 0; i < cabecalho.size(); i++) {
+            colunas.put(cabecalho.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        List<String> ausentes = COLUNAS_OBRIGATORIAS.stream().filter(coluna -> !colunas.containsKey(coluna)).toList();
+        if (!ausentes.isEmpty()) {
+            throw new ImportacaoInvalidaException("Colunas ausentes no cabeçalho: " + String.join(", ", ausentes));
+        }
+
+        List<Linha> linhas = new ArrayList<>();
+        int numero = reader.getLineNumber() + 1;
+        List<String> campos;
+        for (; (campos = separarCsv(reader, separador)) != null; numero = reader.getLineNumber() + 1) {
+            if (campos.size() == 1 && campos.get(0).isBlank()) {
+                continue;
+            }
+            verificarLimite(linhas);
+            EnderecoRequest endereco = new EnderecoRequest(
+                    campo(campos, colunas, "rua"), campo(campos, colunas, "numero"), campo(campos, colunas, "cep"),
+                    campo(campos, colunas, "bairro"), campo(campos, colunas, "cidade"), campo(campos, colunas, "estado"),
+                    campo(campos, colunas, "complemento"));
+            linhas.add(new Linha(numero, new CadastroMembroRequest(
+                    campo(campos, colunas, "nome"), campo(campos, colunas, "rg"), campo(campos, colunas, "cpf"),
+                    campo(campos, colunas, "ri"), campo(campos, colunas, "cargo"), endereco)));
+        }
+        return linhas;
+    }
+
+    /**
+     * Lê um registro CSV (RFC 4180: campos entre aspas podem conter separador, aspas duplicadas e quebras de linha).
+     * Retorna null no fim do arquivo.
+     */
+    static List<String> separarCsv(BufferedReader reader, char separador) throws IOException {
+        List<String> campos = new ArrayList<>();
+        StringBuilder campo = new StringBuilder();
+        boolean entreAspas = false;
+        boolean leu = false;
+        int c;
+        while ((c = reader.read()) != -1) {
+            leu = true;
+            char caractere = (char) c;
+            if (entreAspas) {
+                if (caractere != '"') {
+                    campo.append(caractere);
+                    continue;
+                }
+                reader.mark(1);
+                if (reader.read() == '"') {
+                    campo.append('"');
+                } else {
+                    entreAspas = false;
+                    reader.reset();
+                }
+            } else if (caractere == '"') {
+                entreAspas = true;
+            } else if (caractere == separador) {
+                campos.add(campo.toString());
+                campo.setLength(0);
+            } else if (caractere == '\n') {
+                break;
+            } else if (caractere != '\r') {
+                campo.append(caractere);
+            }
+        }
+        if (!leu) {
+            return null;
+        }
+        campos.add(campo.toString());
+        return campos;
+    }
+
+    private static String campo(List<String> campos, Map<String, Integer> colunas, String nome) {
+        Integer indice = colunas.get(nome);
+        if (indice == null || indice >= campos.size()) {
+            return null;
+        }
+        String valor = campos.get(indice).trim();
+        return valor.isEmpty() ? null : valor;
+    }
+
+    private void verificarLimite(List<Linha> linhas) {
+        if (linhas.size() >= maxLinhas) {
+            throw new ImportacaoInvalidaException("O arquivo excede o limite de " + maxLinhas + " linhas por importação");
+        }
+    }
+
+    private void validar(Linha linha) {
+        if (linha.request == null) {
+            return;
+        }
+        validator.validate(linha.request).forEach(violacao -> linha.erros.add(violacao.getMessage()));
+
+        String cpf = linha.request.cpf();
+        if (cpf != null && !cpf.isBlank()) {
+            if (CpfValidator.isValid(cpf)) {
+                linha.cpf = CpfValidator.unformat(cpf);
+            } else {
+                linha.erros.add("CPF inválido: " + cpf);
+            }
+        }
+        linha.ri = MembroService.normalizarRi(linha.request.ri());
+    }
+
+    private void marcarDuplicadosNoArquivo(List<Linha> linhas) {
+        Map<String, Integer> cpfs = new HashMap<>();
+        Map<String, Integer> rgs = new HashMap<>();
+        Map<String, Integer> ris = new HashMap<>();
+
+        for (Linha linha : linhas) {
+            if (!linha.valida()) {
+                continue;
+            }
+            Integer cpf = cpfs.get(linha.cpf);
+            Integer rg = linha.request.rg() != null ? rgs.get(linha.request.rg()) : null;
+            Integer ri = linha.ri != null ? ris.get(linha.ri) : null;
+            if (cpf != null) {
+                linha.erros.add("CPF repetido no arquivo (linha " + cpf + ")");
+            }
+            if (rg != null) {
+                linha.erros.add("RG repetido no arquivo (linha " + rg + ")");
+            }
+            if (ri != null) {
+                linha.erros.add("RI repetido no arquivo (linha " + ri + ")");
+            }
+            if (linha.valida()) {
+                cpfs.put(linha.cpf, linha.numero);
+                if (linha.request.rg() != null) {
+                    rgs.put(linha.request.rg(), linha.numero);
+                }
+                if (linha.ri != null) {
+                    ris.put(linha.ri, linha.numero);
+                }
+            }
+        }
+    }
+
+    private void marcarDuplicadosNoBanco(List<Linha> linhas) {
+        List<Linha> validas = linhas.stream().filter(Linha::valida).toList();
+        Set<String> cpfs = new HashSet<>();
+        Set<String> rgs = new HashSet<>();
+        Set<String> ris = new HashSet<>();
+
+        for (int inicio = 0; inicio < validas.size(); inicio += TAMANHO_CONSULTA) {
+            List<Linha> bloco = validas.subList(inicio, Math.min(inicio + TAMANHO_CONSULTA, validas.size()));
+            membrosRepository.buscarColisoesEmLote(
+                    bloco.stream().map(linha -> linha.cpf).toList(),
+                    bloco.stream().map(linha -> linha.request.rg()).filter(Objects::nonNull).toList(),
+                    bloco.stream().map(linha -> linha.ri).filter(Objects::nonNull).toList()
+            ).forEach(existente -> {
+                cpfs.add(existente.getCpf());
+                rgs.add(existente.getRg());
+                if (existente.getRi() != null) {
+                    ris.add(existente.getRi());
+                }
+            });
+        }
+
+        for (Linha linha : validas) {
+            if (cpfs.contains(linha.cpf)) {
+                linha.erros.add("CPF já cadastrado no sistema");
+            }
+            if (linha.request.rg() != null && rgs.contains(linha.request.rg())) {
+                linha.erros.add("RG já cadastrado no sistema");
+            }
+            if (linha.ri != null && ris.contains(linha.ri)) {
+                linha.erros.add("RI já cadastrado no sistema");
+            }
+        }
+    }
+
+    private int gravar(List<Linha> validas) {
+        int importados = 0;
+        for (int inicio = 0; inicio < validas.size(); inicio += tamanhoLote) {
+            List<Linha> lote = validas.subList(inicio, Math.min(inicio + tamanhoLote, validas.size()));
+            try {
+                transactionTemplate.executeWithoutResult(status -> persistir(lote));
+                importados += lote.size();
+            } catch (DataIntegrityViolationException e) {
+                // Cadastro concorrente entre a verificação e a gravação: regrava o lote linha a linha
+                log.warn("Conflito ao gravar lote da importação; gravando {} linhas individualmente", lote.size());
+                for (Linha linha : lote) {
+                    try {
+                        transactionTemplate.executeWithoutResult(status -> persistir(List.of(linha)));
+                        importados++;
+                    } catch (DataIntegrityViolationException ex) {
+                        linha.erros.add(mensagemViolacao(ex));
+                    }
+                }
+            }
+        }
+        return importados;
+    }
+
+    // Mesmo mapeamento por nome de constraint do MembroService; outras violações não são duplicidade
+    private static String mensagemViolacao(DataIntegrityViolationException e) {
+        String causa = String.valueOf(e.getMostSpecificCause().getMessage());
+        String violacao = causa.toLowerCase(Locale.ROOT);
+        if (violacao.contains(Membros.UK_CPF)) {
+            return "CPF já cadastrado no sistema";
+        }
+        if (violacao.contains(Membros.UK_RG)) {
+            return "RG já cadastrado no sistema";
+        }
+        if (violacao.contains(Membros.UK_RI)) {
+            return "RI já cadastrado no sistema";
+        }
+        // A mensagem do banco pode trazer o SQL nas linhas seguintes
+        int fimLinha = causa.indexOf('\n');
+        return "Linha recusada pelo banco de dados: " + (fimLinha >= 0 ? causa.substring(0, fimLinha) : causa).trim();
+    }
+
+    // Os INSERTs são enviados em lote no flush do commit (ids por sequência, hibernate.jdbc.batch_size)
+    private void persistir(List<Linha> lote) {
+        for (Linha linha : lote) {
+            CadastroMembroRequest request = linha.request;
+            Membros membro = Membros.builder()
+                    .nome(request.nome())
+                    .rg(request.rg())
+                    .cpf(linha.cpf)
+                    .ri(linha.ri)
+                    .cargo(request.cargo())
+                    .endereco(MembroService.criarEndereco(request.endereco()))
+                    .build();
+            entityManager.persist(membro);
+            membroNomeIndex.indexar(membro.getId(), membro.getNome());
+        }
+    }
+
+    private static final class Linha {
+
+        private final int numero;
+        private final CadastroMembroRequest request;
+        private final List<String> erros = new ArrayList<>();
+        private String cpf;
+        private String ri;
+
+        private Linha(int numero, CadastroMembroRequest request) {
+            this.numero = numero;
+            this.request = request;
+        }
+
+        private static Linha comErro(int numero, String erro) {
+            Linha linha = new Linha(numero, null);
+            linha.erros.add(erro);
+            return linha;
+        }
+
+        private boolean valida() {
+            return erros.isEmpty();
+        }
+
+        private String cpfInformado() {
+            return request != null ? request.cpf() : null;
+        }
+    }
+}
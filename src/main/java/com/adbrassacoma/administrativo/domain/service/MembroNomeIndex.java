@@ -0,0 +1,362 @@
+package com.adbrassacoma.administrativo.domain.service;
+
+import com.adbrassacoma.administrativo.domain.model.Membros;
+import com.adbrassacoma.administrativo.infrastructure.repository.MembrosRepository;
+import com.adbrassacoma.administrativo.infrastructure.validator.NomeNormalizer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice invertido de trigramas sobre o nome normalizado dos membros, usado nas buscas
+ * do tipo "contém" que um índice B-tree não atende.
+ *
+ * Cada trigrama aponta para a lista ordenada de documentos que o contêm; a busca intersecta
+ * as listas dos trigramas do termo, confirma o "contém" nos candidatos e ordena por relevância:
+ * nome igual, nome começando pelo termo, alguma palavra começando pelo termo e demais ocorrências.
+ *
+ * O índice é reconstruído na inicialização e periodicamente (para refletir escritas de outras
+ * instâncias) e atualizado após o commit das escritas feitas nesta instância. Alterações aplicadas
+ * enquanto a reconstrução lê o banco são registradas e reaplicadas sobre o resultado, para que
+ * não sejam sobrescritas por uma leitura anterior a elas.
+ */
+@Slf4j
+@Component
+public class MembroNomeIndex {
+
+    public static final int TAMANHO_MINIMO_TERMO = 3;
+
+    // Posições removidas toleradas antes de compactar (além de uma fração dos documentos)
+    private static final int MINIMO_REMOVIDOS_COMPACTACAO = 1024;
+
+    private final MembrosRepository membrosRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Documentos: posição -> id/nome normalizado; removidos ficam com nome nulo até a compactação
+    private long[] ids = new long[1024];
+    private String[] nomes = new String[1024];
+    private int totalDocumentos;
+    private int totalRemovidos;
+    private final Map<Long, Integer> posicaoPorId = new HashMap<>();
+    private final Map<String, ListaPosicoes> postings = new HashMap<>();
+
+    // id -> nome normalizado (nulo quando removido) das alterações feitas durante uma reconstrução
+    private Map<Long, String> alteracoesDuranteReconstrucao;
+
+    public MembroNomeIndex(MembrosRepository membrosRepository) {
+        this.membrosRepository = membrosRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${membros.busca.reconstrucao-ms:600000}", initialDelayString = "${membros.busca.reconstrucao-ms:600000}")
+    public void reconstruir() {
+        long inicio = System.nanoTime();
+        preencherNomesNormalizados();
+
+        // Escritas com commit antes deste ponto estão na leitura; as seguintes são registradas e reaplicadas
+        lock.writeLock().lock();
+        try {
+            alteracoesDuranteReconstrucao = new LinkedHashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        List<Object[]> membros;
+        try {
+            membros = membrosRepository.listarIdENome();
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                alteracoesDuranteReconstrucao = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        int reaplicadas;
+        lock.writeLock().lock();
+        try {
+            Map<Long, String> alteracoes = alteracoesDuranteReconstrucao;
+            alteracoesDuranteReconstrucao = null;
+            limpar();
+            for (Object[] membro : membros) {
+                adicionar((Long) membro[0], NomeNormalizer.normalizar((String) membro[1]));
+            }
+            alteracoes.forEach((id, nome) -> {
+                remover(id);
+                adicionar(id, nome);
+            });
+            reaplicadas = alteracoes.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Índice de nomes reconstruído. Membros: {}, Alterações reaplicadas: {}, Trigramas: {}, Tempo: {}ms",
+                membros.size(), reaplicadas, postings.size(), (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    /**
+     * Registra o nome atual do membro; dentro de uma transação a alteração só é aplicada após o commit.
+     */
+    public void indexar(Long id, String nome) {
+        String nomeNormalizado = NomeNormalizer.normalizar(nome);
+        aposCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                remover(id);
+                adicionar(id, nomeNormalizado);
+                registrarDuranteReconstrucao(id, nomeNormalizado);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public void removerMembro(Long id) {
+        aposCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                remover(id);
+                registrarDuranteReconstrucao(id, null);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Retorna os ids dos membros cujo nome contém o termo, em ordem de relevância.
+     * Termos normalizados com menos de {@value #TAMANHO_MINIMO_TERMO} caracteres não são atendidos pelo índice.
+     */
+    public List<Long> buscar(String termo, int limite) {
+        String consulta = NomeNormalizer.normalizar(termo);
+        if (consulta == null || consulta.length() < TAMANHO_MINIMO_TERMO) {
+            return List.of();
+        }
+
+        List<Resultado> resultados = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            int[] candidatos = candidatos(consulta);
+            for (int posicao : candidatos) {
+                String nome = nomes[posicao];
+                if (nome == null) {
+                    continue;
+                }
+                int indice = nome.indexOf(consulta);
+                if (indice >= 0) {
+                    resultados.add(new Resultado(ids[posicao], nome, relevancia(nome, consulta, indice)));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return resultados.stream()
+                .sorted(Comparator.comparingInt(Resultado::relevancia)
+                        .thenComparingInt(resultado -> resultado.nome().length())
+                        .thenComparing(Resultado::nome))
+                .limit(limite)
+                .map(Resultado::id)
+                .toList();
+    }
+
+    // Registros gravados antes da coluna nome_normalizado existir
+    private void preencherNomesNormalizados() {
+        List<Membros> pendentes = membrosRepository.findByNomeNormalizadoIsNull();
+        if (pendentes.isEmpty()) {
+            return;
+        }
+        pendentes.forEach(membro -> membro.setNomeNormalizado(NomeNormalizer.normalizar(membro.getNome())));
+        membrosRepository.saveAll(pendentes);
+        log.info("Nome normalizado preenchido para {} membros", pendentes.size());
+    }
+
+    int tamanho() {
+        lock.readLock().lock();
+        try {
+            return posicaoPorId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int posicoesOcupadas() {
+        lock.readLock().lock();
+        try {
+            return totalDocumentos;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int[] candidatos(String consulta) {
+        // Intersecção começando pela lista mais curta
+        List<ListaPosicoes> listas = new ArrayList<>();
+        for (int i = 0; i + TAMANHO_MINIMO_TERMO <= consulta.length(); i++) {
+            ListaPosicoes lista = postings.get(consulta.substring(i, i + TAMANHO_MINIMO_TERMO));
+            if (lista == null) {
+                return new int[0];
+            }
+            listas.add(lista);
+        }
+        listas.sort(Comparator.comparingInt(ListaPosicoes::tamanho));
+
+        int[] resultado = listas.get(0).copia();
+        for (int i = 1; i < listas.size() && resultado.length > 0; i++) {
+            resultado = listas.get(i).intersectar(resultado);
+        }
+        return resultado;
+    }
+
+    private static int relevancia(String nome, String consulta, int indice) {
+        if (nome.equals(consulta)) {
+            return 0;
+        }
+        if (indice == 0) {
+            return 1;
+        }
+        if (nome.contains(" " + consulta)) {
+            return 2;
+        }
+        return 3;
+    }
+
+    private void adicionar(Long id, String nomeNormalizado) {
+        if (id == null || nomeNormalizado == null) {
+            return;
+        }
+        if (totalDocumentos == ids.length) {
+            ids = Arrays.copyOf(ids, ids.length * 2);
+            nomes = Arrays.copyOf(nomes, nomes.length * 2);
+        }
+        int posicao = totalDocumentos++;
+        ids[posicao] = id;
+        nomes[posicao] = nomeNormalizado;
+        posicaoPorId.put(id, posicao);
+
+        for (int i = 0; i + TAMANHO_MINIMO_TERMO <= nomeNormalizado.length(); i++) {
+            postings.computeIfAbsent(nomeNormalizado.substring(i, i + TAMANHO_MINIMO_TERMO), t -> new ListaPosicoes())
+                    .adicionar(posicao);
+        }
+    }
+
+    private void registrarDuranteReconstrucao(Long id, String nomeNormalizado) {
+        if (alteracoesDuranteReconstrucao != null) {
+            alteracoesDuranteReconstrucao.put(id, nomeNormalizado);
+        }
+    }
+
+    private void remover(Long id) {
+        Integer posicao = posicaoPorId.remove(id);
+        if (posicao != null) {
+            nomes[posicao] = null;
+            totalRemovidos++;
+            if (totalRemovidos >= Math.max(MINIMO_REMOVIDOS_COMPACTACAO, totalDocumentos / 4)) {
+                compactar();
+            }
+        }
+    }
+
+    // As listas de posições precisam ficar em ordem crescente, então posições removidas não são reaproveitadas:
+    // os documentos restantes são reindexados em novas posições, na mesma ordem
+    private void compactar() {
+        int removidos = totalRemovidos;
+        long[] idsAtuais = ids;
+        String[] nomesAtuais = nomes;
+        int total = totalDocumentos;
+        limpar();
+        for (int posicao = 0; posicao < total; posicao++) {
+            if (nomesAtuais[posicao] != null) {
+                adicionar(idsAtuais[posicao], nomesAtuais[posicao]);
+            }
+        }
+        log.debug("Índice de nomes compactado. Posições liberadas: {}, Membros: {}", removidos, posicaoPorId.size());
+    }
+
+    private void limpar() {
+        ids = new long[1024];
+        nomes = new String[1024];
+        totalDocumentos = 0;
+        totalRemovidos = 0;
+        posicaoPorId.clear();
+        postings.clear();
+    }
+
+    private static void aposCommit(Runnable acao) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    acao.run();
+                }
+            });
+        } else {
+            acao.run();
+        }
+    }
+
+    private record Resultado(long id, String nome, int relevancia) {
+    }
+
+    /**
+     * Lista crescente de posições de documentos (as posições são atribuídas em ordem crescente).
+     */
+    private static final class ListaPosicoes {
+
+        private int[] posicoes = new int[4];
+        private int tamanho;
+
+        void adicionar(int posicao) {
+            // Um mesmo trigrama pode se repetir no nome
+            if (tamanho > 0 && posicoes[tamanho - 1] == posicao) {
+                return;
+            }
+            if (tamanho == posicoes.length) {
+                posicoes = Arrays.copyOf(posicoes, tamanho * 2);
+            }
+            posicoes[tamanho++] = posicao;
+        }
+
+        int tamanho() {
+            return tamanho;
+        }
+
+        int[] copia() {
+            return Arrays.copyOf(posicoes, tamanho);
+        }
+
+        int[] intersectar(int[] outras) {
+            int[] resultado = new int[Math.min(tamanho, outras.length)];
+            int i = 0;
+            int j = 0;
+            int k = 0;
+            while (i < tamanho && j < outras.length) {
+                if (posicoes[i] == outras[j]) {
+                    resultado[k++] = posicoes[i];
+                    i++;
+                    j++;
+                } else if (posicoes[i] < outras[j]) {
+                    i++;
+                } else {
+                    j++;
+                }
+            }
+            return Arrays.copyOf(resultado, k);
+        }
+    }
+}
@@ -1,57 +1,71 @@
 package com.adbrassacoma.administrativo.domain.service;
 
+import com.adbrassacoma.administrativo.domain.enums.TabelaVersionada;
 import com.adbrassacoma.administrativo.domain.model.Endereco;
 import com.adbrassacoma.administrativo.domain.model.Membros;
+import com.adbrassacoma.administrativo.infrastructure.config.CacheConsultas;
+import com.adbrassacoma.administrativo.infrastructure.dto.projection.MembroProjecao;
 import com.adbrassacoma.administrativo.infrastructure.dto.request.AtualizarMembroRequest;
 import com.adbrassacoma.administrativo.infrastructure.dto.request.CadastroMembroRequest;
 import com.adbrassacoma.administrativo.infrastructure.dto.request.EnderecoRequest;
 import com.adbrassacoma.administrativo.infrastructure.dto.response.EnderecoResponse;
 import com.adbrassacoma.administrativo.infrastructure.dto.response.MembroResponse;
+import com.adbrassacoma.administrativo.infrastructure.dto.response.PaginaCursorResponse;
 import com.adbrassacoma.administrativo.infrastructure.exception.CpfInvalidoException;
 import com.adbrassacoma.administrativo.infrastructure.exception.CpfJaCadastradoException;
+import com.adbrassacoma.administrativo.infrastructure.exception.CursorInvalidoException;
 import com.adbrassacoma.administrativo.infrastructure.exception.MembroNaoEncontradoException;
 import com.adbrassacoma.administrativo.infrastructure.exception.RgJaCadastradoException;
 import com.adbrassacoma.administrativo.infrastructure.exception.RiJaCadastradoException;
 import com.adbrassacoma.administrativo.infrastructure.repository.EnderecoRepository;
 import com.adbrassacoma.administrativo.infrastructure.repository.MembrosRepository;
 import com.adbrassacoma.administrativo.infrastructure.validator.CpfValidator;
+import com.adbrassacoma.administrativo.infrastructure.validator.NomeNormalizer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class MembroService {
 
+    private static final int TAMANHO_PAGINA_PADRAO = 50;
+    private static final int TAMANHO_PAGINA_MAXIMO = 200;
+    private static final String ORDEM_NOME = "nome";
+
     private final MembrosRepository membrosRepository;
     private final EnderecoRepository enderecoRepository;
+    private final MembroNomeIndex membroNomeIndex;
+    private final CacheConsultas cacheConsultas;
+    private final VersaoTabelaService versaoTabelaService;
+
+    @Value("${membros.busca.max-resultados:50}")
+    private int maxResultadosBusca;
 
     @Transactional
     public MembroResponse cadastrar(CadastroMembroRequest request) {
         log.info("Iniciando cadastro de membro. Nome: {}, CPF: {}", request.nome(), request.cpf());
         
         validarCpf(request.cpf());
-        validarCpfUnico(request.cpf(), null);
-        validarRgUnico(request.rg(), null);
-
-        if (request.ri() != null && !request.ri().isBlank()) {
-            validarRiUnico(request.ri(), null);
-        }
 
         String cpfLimpo = CpfValidator.unformat(request.cpf());
-        boolean jaExiste = membrosRepository.findByCpf(cpfLimpo).isPresent()
-                || membrosRepository.findByRg(request.rg()).isPresent()
-                || (request.ri() != null && !request.ri().isBlank() && membrosRepository.findByRi(request.ri()).isPresent());
-
-        if (jaExiste) {
-            log.warn("Tentativa de cadastrar membro com CPF, RG ou RI já existente. CPF: {}, RG: {}, RI: {}", 
-                    request.cpf(), request.rg(), request.ri());
-            throw new IllegalArgumentException("Já existe um membro com o mesmo CPF, RG ou RI informado. Não é possível salvar as mesmas informações duas vezes.");
-        }
+        String ri = normalizarRi(request.ri());
+        validarDocumentosUnicos(cpfLimpo, request.rg(), ri, null);
 
         Endereco endereco = criarEndereco(request.endereco());
         endereco = enderecoRepository.save(endereco);
@@ -60,57 +74,119 @@ public class MembroService {
                 .nome(request.nome())
                 .rg(request.rg())
                 .cpf(cpfLimpo)
-                .ri(request.ri())
+                .ri(ri)
                 .cargo(request.cargo())
                 .endereco(endereco)
                 .build();
 
-        membro = membrosRepository.save(membro);
+        membro = salvarComUnicidade(membro);
+        membroNomeIndex.indexar(membro.getId(), membro.getNome());
         log.info("Membro cadastrado com sucesso. ID: {}, Nome: {}, CPF: {}", membro.getId(), membro.getNome(), request.cpf());
 
         return toMembroResponse(membro);
     }
 
+    /**
+     * Lista membros por keyset: cada página parte da chave do último item da anterior,
+     * então o custo independe da posição na listagem. O total só é contado quando solicitado.
+     */
     @Transactional(readOnly = true)
-    public List<MembroResponse> listarTodos() {
-        return membrosRepository.findAll().stream()
-                .map(this::toMembroResponse)
-                .toList();
+    public PaginaCursorResponse<MembroResponse> listarPaginado(String cursor, Integer tamanho, String ordenarPor,
+            String cargo, String cidade, boolean incluirTotal) {
+        boolean porNome = ORDEM_NOME.equalsIgnoreCase(ordenarPor);
+        int tamanhoPagina = tamanho == null ? TAMANHO_PAGINA_PADRAO : Math.max(1, Math.min(tamanho, TAMANHO_PAGINA_MAXIMO));
+        CursorMembros posicao = cursor == null || cursor.isBlank() ? null : CursorMembros.decodificar(cursor, porNome);
+
+        // Busca um item a mais apenas para saber se existe próxima página
+        List<MembroProjecao> membros = porNome
+                ? membrosRepository.buscarPaginaPorNome(
+                        posicao != null ? posicao.nome() : null,
+                        posicao != null ? posicao.id() : null,
+                        cargo, cidade, tamanhoPagina + 1)
+                : membrosRepository.buscarPaginaPorId(
+                        posicao != null ? posicao.id() : null,
+                        cargo, cidade, tamanhoPagina + 1);
+
+        boolean possuiMais = membros.size() > tamanhoPagina;
+        List<MembroProjecao> pagina = possuiMais ? membros.subList(0, tamanhoPagina) : membros;
+
+        String proximoCursor = null;
+        if (possuiMais) {
+            MembroProjecao ultimo = pagina.get(pagina.size() - 1);
+            proximoCursor = new CursorMembros(porNome, ultimo.id(), ultimo.nome()).codificar();
+        }
+
+        Long total = incluirTotal ? membrosRepository.contar(cargo, cidade) : null;
+
+        return new PaginaCursorResponse<>(
+                pagina.stream().map(this::toMembroResponse).toList(),
+                pagina.size(),
+                possuiMais,
+                proximoCursor,
+                total
+        );
     }
 
-    @Transactional(readOnly = true)
+    // As consultas de detalhe passam pelo cache e não abrem transação própria: um acerto não
+    // ocupa conexão e, numa falta, o repositório executa a leitura na sua própria transação
     public MembroResponse buscarPorId(Long id) {
-        Membros membro = membrosRepository.findById(id)
-                .orElseThrow(() -> new MembroNaoEncontradoException("Membro não encontrado com ID: " + id));
-        return toMembroResponse(membro);
+        return cacheConsultas.membrosPorId().obter(id, chave -> toMembroResponse(membrosRepository.findById(chave)
+                .orElseThrow(() -> new MembroNaoEncontradoException("Membro não encontrado com ID: " + chave))));
     }
 
+    /**
+     * Busca por nome ignorando acentos e maiúsculas. Termos curtos usam o índice de prefixo do banco;
+     * os demais usam o índice de trigramas em memória, que já devolve os ids ordenados por relevância.
+     */
     @Transactional(readOnly = true)
     public List<MembroResponse> buscarPorNome(String nome) {
-        List<Membros> membros = membrosRepository.findByNomeContainingIgnoreCase(nome);
-        
-        return membros.stream()
+        String termo = NomeNormalizer.normalizar(nome);
+        if (termo == null || termo.isEmpty()) {
+            return List.of();
+        }
+
+        if (termo.length() < MembroNomeIndex.TAMANHO_MINIMO_TERMO) {
+            return membrosRepository.buscarPorPrefixoNormalizado(escaparLike(termo), Limit.of(maxResultadosBusca)).stream()
+                    .map(this::toMembroResponse)
+                    .toList();
+        }
+
+        List<Long> ids = membroNomeIndex.buscar(termo, maxResultadosBusca);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, MembroProjecao> porId = membrosRepository.buscarPorIds(ids).stream()
+                .collect(Collectors.toMap(MembroProjecao::id, Function.identity()));
+        return ids.stream()
+                .map(porId::get)
+                .filter(Objects::nonNull)
                 .map(this::toMembroResponse)
                 .toList();
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * ETag de /api/membros/{id}, obtido apenas da coluna de versão (sem carregar o membro).
+     */
+    public String etag(Long id) {
+        Long versao = membrosRepository.buscarVersao(id)
+                .orElseThrow(() -> new MembroNaoEncontradoException("Membro não encontrado com ID: " + id));
+        return "membro-" + id + "-" + versao;
+    }
+
     public MembroResponse buscarPorCpf(String cpf) {
         String cpfLimpo = CpfValidator.unformat(cpf);
         if (cpfLimpo == null) {
             throw new CpfInvalidoException("CPF inválido: " + cpf);
         }
         
-        Membros membro = membrosRepository.findByCpf(cpfLimpo)
-                .orElseThrow(() -> new MembroNaoEncontradoException("Membro não encontrado com CPF: " + cpf));
-        return toMembroResponse(membro);
+        return cacheConsultas.membrosPorCpf().obter(cpfLimpo, chave -> toMembroResponse(membrosRepository.findByCpf(chave)
+                .orElseThrow(() -> new MembroNaoEncontradoException("Membro não encontrado com CPF: " + cpf))));
     }
 
-    @Transactional(readOnly = true)
     public MembroResponse buscarPorRi(String ri) {
-        Membros membro = membrosRepository.findByRi(ri)
-                .orElseThrow(() -> new MembroNaoEncontradoException("Membro não encontrado com RI: " + ri));
-        return toMembroResponse(membro);
+        return cacheConsultas.membrosPorRi().obter(ri, chave -> toMembroResponse(membrosRepository.findByRi(chave)
+                .orElseThrow(() -> new MembroNaoEncontradoException("Membro não encontrado com RI: " + chave))));
     }
 
     @Transactional
@@ -123,20 +199,22 @@ public class MembroService {
                     return new MembroNaoEncontradoException("Membro não encontrado com ID: " + id);
                 });
 
-        validarRgUnico(request.rg(), id);
-        
-        if (request.ri() != null && !request.ri().isBlank()) {
-            validarRiUnico(request.ri(), id);
-        }
+        String ri = normalizarRi(request.ri());
+        validarDocumentosUnicos(null, request.rg(), ri, id);
+        cacheConsultas.invalidarMembro(id, membro.getCpf(), membro.getRi(), ri);
 
         membro.setNome(request.nome());
         membro.setRg(request.rg());
-        membro.setRi(request.ri());
+        membro.setRi(ri);
         membro.setCargo(request.cargo());
 
         atualizarEndereco(membro.getEndereco(), request.endereco());
+        // O endereço fica em outra tabela: marca o membro como alterado para a versão (ETag) mudar também nesse caso
+        membro.setDataAtualizacao(LocalDateTime.now());
 
-        membro = membrosRepository.save(membro);
+        membro = salvarComUnicidade(membro);
+        versaoTabelaService.registrarAlteracao(TabelaVersionada.FINANCEIRO);
+        membroNomeIndex.indexar(membro.getId(), membro.getNome());
         log.info("Membro atualizado com sucesso. ID: {}, Nome: {}", membro.getId(), membro.getNome());
 
         return toMembroResponse(membro);
@@ -146,50 +224,75 @@ public class MembroService {
     public void deletar(Long id) {
         log.info("Iniciando exclusão de membro. ID: {}", id);
         
-        if (!membrosRepository.existsById(id)) {
-            log.warn("Tentativa de deletar membro inexistente. ID: {}", id);
-            throw new MembroNaoEncontradoException("Membro não encontrado com ID: " + id);
-        }
+        Membros membro = membrosRepository.findById(id)
+                .orElseThrow(() -> {
+                    log.warn("Tentativa de deletar membro inexistente. ID: {}", id);
+                    return new MembroNaoEncontradoException("Membro não encontrado com ID: " + id);
+                });
         
-        membrosRepository.deleteById(id);
+        membrosRepository.delete(membro);
+        versaoTabelaService.registrarAlteracao(TabelaVersionada.FINANCEIRO);
+        membroNomeIndex.removerMembro(id);
+        cacheConsultas.invalidarMembro(id, membro.getCpf(), membro.getRi());
         log.info("Membro deletado com sucesso. ID: {}", id);
     }
 
+    private static String escaparLike(String termo) {
+        return termo.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
     private void validarCpf(String cpf) {
         if (!CpfValidator.isValid(cpf)) {
             throw new CpfInvalidoException("CPF inválido: " + cpf);
         }
     }
 
-    private void validarCpfUnico(String cpf, Long idExcluir) {
-        String cpfLimpo = CpfValidator.unformat(cpf);
-        membrosRepository.findByCpf(cpfLimpo)
-                .ifPresent(membro -> {
-                    if (!membro.getId().equals(idExcluir)) {
-                        throw new CpfJaCadastradoException("CPF já cadastrado no sistema");
-                    }
-                });
+    /**
+     * Verifica CPF, RG e RI em uma única consulta. Cadastros concorrentes que passem por aqui ao
+     * mesmo tempo são barrados pelas constraints únicas no flush (ver salvarComUnicidade).
+     */
+    private void validarDocumentosUnicos(String cpf, String rg, String ri, Long idExcluir) {
+        List<MembrosRepository.DocumentosMembro> colisoes = membrosRepository.buscarColisoes(cpf, rg, ri).stream()
+                .filter(colisao -> !colisao.getId().equals(idExcluir))
+                .toList();
+        if (colisoes.isEmpty()) {
+            return;
+        }
+
+        log.warn("Tentativa de salvar membro com documento já cadastrado. CPF: {}, RG: {}, RI: {}", cpf, rg, ri);
+        if (cpf != null && colisoes.stream().anyMatch(colisao -> cpf.equals(colisao.getCpf()))) {
+            throw new CpfJaCadastradoException("CPF já cadastrado no sistema");
+        }
+        if (rg != null && colisoes.stream().anyMatch(colisao -> rg.equals(colisao.getRg()))) {
+            throw new RgJaCadastradoException("RG já cadastrado no sistema");
+        }
+        throw new RiJaCadastradoException("RI já cadastrado no sistema");
     }
 
-    private void validarRgUnico(String rg, Long idExcluir) {
-        membrosRepository.findByRg(rg)
-                .ifPresent(membro -> {
-                    if (!membro.getId().equals(idExcluir)) {
-                        throw new RgJaCadastradoException("RG já cadastrado no sistema");
-                    }
-                });
+    private Membros salvarComUnicidade(Membros membro) {
+        try {
+            return membrosRepository.saveAndFlush(membro);
+        } catch (DataIntegrityViolationException e) {
+            String violacao = String.valueOf(e.getMostSpecificCause().getMessage()).toLowerCase(Locale.ROOT);
+            if (violacao.contains(Membros.UK_CPF)) {
+                throw new CpfJaCadastradoException("CPF já cadastrado no sistema");
+            }
+            if (violacao.contains(Membros.UK_RG)) {
+                throw new RgJaCadastradoException("RG já cadastrado no sistema");
+            }
+            if (violacao.contains(Membros.UK_RI)) {
+                throw new RiJaCadastradoException("RI já cadastrado no sistema");
+            }
+            throw e;
+        }
     }
 
-    private void validarRiUnico(String ri, Long idExcluir) {
-        membrosRepository.findByRi(ri)
-                .ifPresent(membro -> {
-                    if (!membro.getId().equals(idExcluir)) {
-                        throw new RiJaCadastradoException("RI já cadastrado no sistema");
-                    }
-                });
+    // RI é opcional; em branco é gravado como nulo para não colidir na constraint única
+    static String normalizarRi(String ri) {
+        return ri == null || ri.isBlank() ? null : ri;
     }
 
-    private Endereco criarEndereco(EnderecoRequest request) {
+    static Endereco criarEndereco(EnderecoRequest request) {
         return Endereco.builder()
                 .rua(request.rua())
                 .numero(request.numero())
@@ -211,7 +314,32 @@ public class MembroService {
         endereco.setComplemento(request.complemento());
     }
 
-    private MembroResponse toMembroResponse(Membros membro) {
+    /**
+     * Posição opaca na listagem: ordenação, id e (quando ordenado por nome) o nome do último item.
+     */
+    private record CursorMembros(boolean porNome, Long id, String nome) {
+
+        String codificar() {
+            String valor = porNome ? ORDEM_NOME + ":" + id + ":" + nome : "id:" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static CursorMembros decodificar(String cursor, boolean porNome) {
+            try {
+                String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                String[] partes = valor.split(":", 3);
+                boolean cursorPorNome = ORDEM_NOME.equals(partes[0]);
+                if (cursorPorNome != porNome || (porNome && partes.length != 3) || (!porNome && partes.length != 2)) {
+                    throw new CursorInvalidoException("Cursor não corresponde à ordenação solicitada");
+                }
+                return new CursorMembros(porNome, Long.parseLong(partes[1]), porNome ? partes[2] : null);
+            } catch (IllegalArgumentException e) {
+                throw new CursorInvalidoException("Cursor de paginação inválido");
+            }
+        }
+    }
+
+    MembroResponse toMembroResponse(Membros membro) {
         return new MembroResponse(
                 membro.getId(),
                 membro.getNome(),
@@ -223,6 +351,27 @@ public class MembroService {
         );
     }
 
+    MembroResponse toMembroResponse(MembroProjecao membro) {
+        return new MembroResponse(
+                membro.id(),
+                membro.nome(),
+                membro.rg(),
+                CpfValidator.format(membro.cpf()),
+                membro.ri(),
+                membro.cargo(),
+                new EnderecoResponse(
+                        membro.enderecoId(),
+                        membro.rua(),
+                        membro.numero(),
+                        membro.cep(),
+                        membro.bairro(),
+                        membro.cidade(),
+                        membro.estado(),
+                        membro.complemento()
+                )
+        );
+    }
+
     private EnderecoResponse toEnderecoResponse(Endereco endereco) {
         return new EnderecoResponse(
                 endereco.getId(),
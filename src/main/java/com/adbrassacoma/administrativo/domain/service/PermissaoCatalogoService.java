@@ -0,0 +1,201 @@
+package com.adbrassacoma.administrativo.domain.service;
+
+import com.adbrassacoma.administrativo.domain.model.TelaPermissao;
+import com.adbrassacoma.administrativo.domain.model.Usuario;
+import com.adbrassacoma.administrativo.infrastructure.config.TokenVerificado;
+import com.adbrassacoma.administrativo.infrastructure.repository.TelaPermissaoRepository;
+import com.adbrassacoma.administrativo.infrastructure.repository.UsuarioRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Catálogo versionado das telas de permissão, usado para embutir no token JWT
+ * a role e as telas liberadas do usuário como uma máscara de bits compacta.
+ *
+ * Cada token carrega a versão do catálogo (cv) e a versão das permissões do usuário (pv).
+ * Quando qualquer uma delas diverge da versão atual o token é considerado desatualizado
+ * e a autorização volta a consultar o banco até que o cliente obtenha um novo token.
+ *
+ * A versão das permissões fica na tabela usuario e é incrementada na mesma transação da alteração,
+ * valendo para todas as instâncias. Cada instância mantém as versões lidas em cache: a alteração feita
+ * nesta instância invalida a entrada após o commit; as demais percebem a nova versão ao expirar o cache
+ * (jwt.permissoes.versao-ttl-seconds).
+ */
+@Slf4j
+@Service
+public class PermissaoCatalogoService {
+
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_USUARIO = "uid";
+    public static final String CLAIM_TELAS = "tel";
+    public static final String CLAIM_VERSAO_CATALOGO = "cv";
+    public static final String CLAIM_VERSAO_PERMISSOES = "pv";
+
+    // Usuário inexistente: nenhum token carrega essa versão
+    private static final long VERSAO_INEXISTENTE = -1L;
+
+    private final TelaPermissaoRepository telaPermissaoRepository;
+    private final UsuarioRepository usuarioRepository;
+    private final Cache<Long, Long> versoesUsuario;
+
+    private volatile Catalogo catalogo = Catalogo.de(List.of());
+
+    public PermissaoCatalogoService(
+            TelaPermissaoRepository telaPermissaoRepository,
+            UsuarioRepository usuarioRepository,
+            @Value("${jwt.permissoes.versao-max-size:10000}") long tamanhoMaximo,
+            @Value("${jwt.permissoes.versao-ttl-seconds:30}") long ttlSegundos,
+            MeterRegistry meterRegistry) {
+        this.telaPermissaoRepository = telaPermissaoRepository;
+        this.usuarioRepository = usuarioRepository;
+        this.versoesUsuario = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfterWrite(Duration.ofSeconds(ttlSegundos))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, versoesUsuario, "auth.versoes-permissao");
+    }
+
+    @Transactional(readOnly = true)
+    public void recarregar() {
+        List<String> ids = telaPermissaoRepository.findAll().stream()
+                .map(TelaPermissao::getId)
+                .sorted()
+                .toList();
+        catalogo = Catalogo.de(ids);
+        log.info("Catálogo de telas carregado. Telas: {}, Versão: {}", ids.size(), catalogo.versao());
+    }
+
+    public long versaoCatalogo() {
+        return catalogo.versao();
+    }
+
+    /**
+     * Incrementa a versão das permissões na transação corrente. Se a transação for desfeita a versão
+     * também volta; o cache local só é invalidado depois do commit, para que uma leitura concorrente
+     * não guarde a versão anterior.
+     */
+    @Transactional
+    public void registrarAlteracao(Long usuarioId) {
+        if (usuarioId == null) {
+            return;
+        }
+        usuarioRepository.incrementarVersaoPermissoes(usuarioId);
+        versoesUsuario.invalidate(usuarioId);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    versoesUsuario.invalidate(usuarioId);
+                }
+            });
+        }
+        log.debug("Versão de permissões atualizada para o usuário ID: {}", usuarioId);
+    }
+
+    public Map<String, Object> gerarClaims(Usuario usuario, Collection<String> telasPermitidas) {
+        Catalogo atual = catalogo;
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(CLAIM_ROLE, usuario.getRole().name());
+        claims.put(CLAIM_USUARIO, usuario.getId());
+        claims.put(CLAIM_TELAS, atual.codificar(telasPermitidas));
+        claims.put(CLAIM_VERSAO_CATALOGO, atual.versao());
+        // Versão lida junto com o usuário, antes das telas: uma alteração concorrente deixa o token desatualizado
+        claims.put(CLAIM_VERSAO_PERMISSOES, usuario.getVersaoPermissoes());
+        return claims;
+    }
+
+    public boolean possuiClaims(TokenVerificado token) {
+        return token.claims().containsKey(CLAIM_VERSAO_CATALOGO);
+    }
+
+    /**
+     * Indica se a role e as telas embutidas no token ainda refletem o estado atual.
+     */
+    public boolean claimsAtuais(TokenVerificado token) {
+        Claims claims = token.claims();
+        Long usuarioId = lerLong(claims, CLAIM_USUARIO);
+        Long versaoCatalogo = lerLong(claims, CLAIM_VERSAO_CATALOGO);
+        Long versaoPermissoes = lerLong(claims, CLAIM_VERSAO_PERMISSOES);
+
+        if (usuarioId == null || versaoCatalogo == null || versaoPermissoes == null
+                || claims.get(CLAIM_ROLE) == null || claims.get(CLAIM_TELAS) == null) {
+            return false;
+        }
+
+        return versaoCatalogo == catalogo.versao() && versaoPermissoes == versaoUsuario(usuarioId);
+    }
+
+    public String authority(TokenVerificado token) {
+        return "ROLE_" + token.claims().get(CLAIM_ROLE, String.class);
+    }
+
+    public List<String> telasDoToken(TokenVerificado token) {
+        return catalogo.decodificar(token.claims().get(CLAIM_TELAS, String.class));
+    }
+
+    private long versaoUsuario(Long usuarioId) {
+        return versoesUsuario.get(usuarioId,
+                id -> usuarioRepository.buscarVersaoPermissoes(id).orElse(VERSAO_INEXISTENTE));
+    }
+
+    private static Long lerLong(Claims claims, String nome) {
+        Object valor = claims.get(nome);
+        return valor instanceof Number numero ? numero.longValue() : null;
+    }
+
+    private record Catalogo(List<String> ids, Map<String, Integer> indices, long versao) {
+
+        static Catalogo de(List<String> ids) {
+            Map<String, Integer> indices = new HashMap<>();
+            CRC32 crc = new CRC32();
+            for (int i = 0; i < ids.size(); i++) {
+                indices.put(ids.get(i), i);
+                crc.update(ids.get(i).getBytes(StandardCharsets.UTF_8));
+                crc.update(0);
+            }
+            return new Catalogo(List.copyOf(ids), Map.copyOf(indices), crc.getValue());
+        }
+
+        String codificar(Collection<String> telas) {
+            BitSet bits = new BitSet(ids.size());
+            for (String tela : telas) {
+                Integer indice = indices.get(tela);
+                if (indice != null) {
+                    bits.set(indice);
+                }
+            }
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(bits.toByteArray());
+        }
+
+        List<String> decodificar(String mascara) {
+            BitSet bits = BitSet.valueOf(Base64.getUrlDecoder().decode(mascara));
+            List<String> telas = new ArrayList<>(bits.cardinality());
+            for (int i = bits.nextSetBit(0); i >= 0 && i < ids.size(); i = bits.nextSetBit(i + 1)) {
+                telas.add(ids.get(i));
+            }
+            return telas;
+        }
+    }
+}
@@ -1,9 +1,11 @@
 package com.adbrassacoma.administrativo.domain.service;
 
 import com.adbrassacoma.administrativo.domain.enums.Role;
+import com.adbrassacoma.administrativo.domain.enums.TabelaVersionada;
 import com.adbrassacoma.administrativo.domain.model.PermissaoUsuario;
 import com.adbrassacoma.administrativo.domain.model.TelaPermissao;
 import com.adbrassacoma.administrativo.domain.model.Usuario;
+import com.adbrassacoma.administrativo.infrastructure.config.TokenVerificado;
 import com.adbrassacoma.administrativo.infrastructure.dto.request.AtualizarPermissoesRequest;
 import com.adbrassacoma.administrativo.infrastructure.dto.response.PermissaoUsuarioResponse;
 import com.adbrassacoma.administrativo.infrastructure.dto.response.TelaPermissaoResponse;
@@ -27,6 +29,15 @@ public class PermissaoService {
     private final TelaPermissaoRepository telaPermissaoRepository;
     private final PermissaoUsuarioRepository permissaoUsuarioRepository;
     private final UsuarioRepository usuarioRepository;
+    private final PermissaoCatalogoService permissaoCatalogoService;
+    private final VersaoTabelaService versaoTabelaService;
+
+    /**
+     * ETag da lista de telas. As telas só mudam na inicialização (DataInitializer), que incrementa o contador.
+     */
+    public String etagTelas() {
+        return "telas-" + versaoTabelaService.versao(TabelaVersionada.TELAS);
+    }
 
     @Transactional(readOnly = true)
     public List<TelaPermissaoResponse> listarTodasTelas() {
@@ -50,7 +61,12 @@ public class PermissaoService {
     }
 
     @Transactional(readOnly = true)
-    public List<String> buscarMinhasPermissoes(String email) {
+    public List<String> buscarMinhasPermissoes(String email, TokenVerificado token) {
+        if (token != null && permissaoCatalogoService.claimsAtuais(token)) {
+            log.debug("Permissões obtidas do token. Email: {}", email);
+            return permissaoCatalogoService.telasDoToken(token);
+        }
+
         log.info("Buscando permissões do usuário autenticado. Email: {}", email);
         
         Usuario usuario = usuarioRepository.findByEmail(email)
@@ -59,9 +75,12 @@ public class PermissaoService {
                     return new UsuarioNaoEncontradoException("Usuário não encontrado com email: " + email);
                 });
 
-        return permissaoUsuarioRepository.findByUsuarioId(usuario.getId()).stream()
-                .map(p -> p.getTela().getId())
-                .collect(Collectors.toList());
+        return permissaoUsuarioRepository.findTelaIdsByUsuarioId(usuario.getId());
+    }
+
+    @Transactional(readOnly = true)
+    public List<String> buscarTelasPermitidas(Long usuarioId) {
+        return permissaoUsuarioRepository.findTelaIdsByUsuarioId(usuarioId);
     }
 
     @Transactional(readOnly = true)
@@ -112,6 +131,7 @@ public class PermissaoService {
             log.debug("Permissão adicionada: Usuário ID: {}, Tela ID: {}", usuarioId, telaId);
         }
 
+        permissaoCatalogoService.registrarAlteracao(usuarioId);
         log.info("Permissões atualizadas com sucesso para o usuário ID: {}", usuarioId);
     }
 
@@ -125,6 +145,7 @@ public class PermissaoService {
         }
 
         permissaoUsuarioRepository.deleteByUsuarioId(usuarioId);
+        permissaoCatalogoService.registrarAlteracao(usuarioId);
         log.info("Permissões removidas do usuário ID: {}", usuarioId);
     }
 
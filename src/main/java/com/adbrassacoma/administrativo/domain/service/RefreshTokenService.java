@@ -0,0 +1,118 @@
+package com.adbrassacoma.administrativo.domain.service;
+
+import com.adbrassacoma.administrativo.domain.model.RefreshToken;
+import com.adbrassacoma.administrativo.domain.model.Usuario;
+import com.adbrassacoma.administrativo.infrastructure.exception.CredenciaisInvalidasException;
+import com.adbrassacoma.administrativo.infrastructure.repository.RefreshTokenRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+
+/**
+ * Emissão e rotação de refresh tokens. O valor entregue ao cliente é aleatório e
+ * somente o seu hash SHA-256 é persistido.
+ */
+@Slf4j
+@Service
+public class RefreshTokenService {
+
+    private static final int TAMANHO_TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final SecureRandom secureRandom = new SecureRandom();
+    private final long expiracaoMs;
+
+    public RefreshTokenService(
+            RefreshTokenRepository refreshTokenRepository,
+            @Value("${jwt.refresh-expiration:604800000}") long expiracaoMs) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.expiracaoMs = expiracaoMs;
+    }
+
+    @Transactional
+    public String emitir(Usuario usuario) {
+        byte[] bytes = new byte[TAMANHO_TOKEN_BYTES];
+        secureRandom.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        refreshTokenRepository.save(RefreshToken.builder()
+                .tokenHash(hash(token))
+                .usuario(usuario)
+                .expiraEm(LocalDateTime.now().plusNanos(expiracaoMs * 1_000_000L))
+                .revogado(false)
+                .build());
+
+        return token;
+    }
+
+    /**
+     * Consome o refresh token informado e devolve o usuário dono dele.
+     * O token é revogado no uso; a reapresentação de um token já revogado
+     * indica possível vazamento e revoga todos os tokens do usuário.
+     */
+    @Transactional(noRollbackFor = CredenciaisInvalidasException.class)
+    public Usuario consumir(String token) {
+        RefreshToken refreshToken = refreshTokenRepository.findByTokenHash(hash(token))
+                .orElseThrow(() -> new CredenciaisInvalidasException("Refresh token inválido ou expirado"));
+
+        Usuario usuario = refreshToken.getUsuario();
+
+        if (refreshToken.isRevogado()) {
+            log.warn("Reuso de refresh token revogado detectado. Revogando todos os tokens do usuário ID: {}", usuario.getId());
+            refreshTokenRepository.revogarPorUsuarioId(usuario.getId());
+            throw new CredenciaisInvalidasException("Refresh token inválido ou expirado");
+        }
+
+        if (refreshToken.getExpiraEm().isBefore(LocalDateTime.now())) {
+            throw new CredenciaisInvalidasException("Refresh token inválido ou expirado");
+        }
+
+        refreshToken.setRevogado(true);
+        return usuario;
+    }
+
+    @Transactional
+    public void revogar(String token) {
+        refreshTokenRepository.findByTokenHash(hash(token))
+                .ifPresent(refreshToken -> refreshToken.setRevogado(true));
+    }
+
+    @Transactional
+    public void revogarTodos(Long usuarioId) {
+        int revogados = refreshTokenRepository.revogarPorUsuarioId(usuarioId);
+        log.info("{} refresh tokens revogados do usuário ID: {}", revogados, usuarioId);
+    }
+
+    @Transactional
+    public void removerTodos(Long usuarioId) {
+        refreshTokenRepository.deleteByUsuarioId(usuarioId);
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.refresh-limpeza-ms:3600000}")
+    @Transactional
+    public void removerExpirados() {
+        int removidos = refreshTokenRepository.deleteExpirados(LocalDateTime.now());
+        if (removidos > 0) {
+            log.info("{} refresh tokens expirados removidos", removidos);
+        }
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+}
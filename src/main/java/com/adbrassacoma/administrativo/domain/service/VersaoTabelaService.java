@@ -0,0 +1,42 @@
+package com.adbrassacoma.administrativo.domain.service;
+
+import com.adbrassacoma.administrativo.domain.enums.TabelaVersionada;
+import com.adbrassacoma.administrativo.domain.model.VersaoTabela;
+import com.adbrassacoma.administrativo.infrastructure.repository.VersaoTabelaRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Contador de alterações por tabela, gravado no banco para valer entre instâncias.
+ *
+ * O incremento acontece na mesma transação da escrita, então a versão lida nunca é mais nova
+ * que os dados commitados. As escritas de uma mesma tabela serializam na linha do contador,
+ * por isso o contador é usado apenas em tabelas com baixo volume de escrita.
+ */
+@Service
+@RequiredArgsConstructor
+public class VersaoTabelaService {
+
+    private final VersaoTabelaRepository versaoTabelaRepository;
+
+    @Transactional
+    public void inicializar() {
+        for (TabelaVersionada tabela : TabelaVersionada.values()) {
+            if (!versaoTabelaRepository.existsById(tabela.name())) {
+                versaoTabelaRepository.save(new VersaoTabela(tabela.name(), 0L));
+            }
+        }
+    }
+
+    @Transactional
+    public void registrarAlteracao(TabelaVersionada tabela) {
+        if (versaoTabelaRepository.incrementar(tabela.name()) == 0) {
+            versaoTabelaRepository.save(new VersaoTabela(tabela.name(), 1L));
+        }
+    }
+
+    public long versao(TabelaVersionada tabela) {
+        return versaoTabelaRepository.buscarVersao(tabela.name()).orElse(0L);
+    }
+}
@@ -0,0 +1,72 @@
+package com.adbrassacoma.administrativo.infrastructure.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Cache read-through de respostas de consulta, com tamanho e TTL limitados.
+ * Falhas do carregador (ex.: registro não encontrado) não são armazenadas.
+ * Quando desabilitado, todas as leituras vão direto ao carregador.
+ */
+public class CacheConsulta<K, V> {
+
+    private final Cache<K, V> cache;
+
+    CacheConsulta(String nome, boolean habilitado, long tamanhoMaximo, long ttlSegundos, MeterRegistry meterRegistry) {
+        if (!habilitado) {
+            this.cache = null;
+            return;
+        }
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfterWrite(Duration.ofSeconds(ttlSegundos))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, nome);
+    }
+
+    public V obter(K chave, Function<K, V> carregador) {
+        if (cache == null || chave == null) {
+            return carregador.apply(chave);
+        }
+        return cache.get(chave, carregador);
+    }
+
+    /**
+     * Remove a entrada imediatamente e novamente após o commit da transação corrente,
+     * evitando que uma leitura concorrente recoloque no cache o estado anterior.
+     */
+    public void invalidar(K chave) {
+        if (cache == null || chave == null) {
+            return;
+        }
+        cache.invalidate(chave);
+        aposCommit(() -> cache.invalidate(chave));
+    }
+
+    public void invalidarTodos() {
+        if (cache == null) {
+            return;
+        }
+        cache.invalidateAll();
+        aposCommit(cache::invalidateAll);
+    }
+
+    private static void aposCommit(Runnable acao) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    acao.run();
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.adbrassacoma.administrativo.infrastructure.config;
+
+import com.adbrassacoma.administrativo.infrastructure.dto.response.AssistenciaSocialResponse;
+import com.adbrassacoma.administrativo.infrastructure.dto.response.FinanceiroResponse;
+import com.adbrassacoma.administrativo.infrastructure.dto.response.MembroResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Caches das consultas de detalhe (por id e, para membros, por CPF e RI).
+ *
+ * Cada tipo tem tamanho e TTL próprios (cache.consultas.*) e publica as métricas do Caffeine
+ * (cache.gets com result=hit/miss, cache.evictions, cache.size) com o nome do cache como tag.
+ * Os serviços invalidam as entradas afetadas em cada atualização ou exclusão.
+ */
+@Slf4j
+@Component
+public class CacheConsultas {
+
+    private final CacheConsulta<Long, MembroResponse> membrosPorId;
+    private final CacheConsulta<String, MembroResponse> membrosPorCpf;
+    private final CacheConsulta<String, MembroResponse> membrosPorRi;
+    private final CacheConsulta<Long, FinanceiroResponse> financeiroPorId;
+    private final CacheConsulta<Long, AssistenciaSocialResponse> assistenciaSocialPorId;
+
+    public CacheConsultas(
+            @Value("${cache.consultas.habilitado:true}") boolean habilitado,
+            @Value("${cache.consultas.membros.max-size:10000}") long membrosTamanho,
+            @Value("${cache.consultas.membros.ttl-seconds:300}") long membrosTtl,
+            @Value("${cache.consultas.financeiro.max-size:10000}") long financeiroTamanho,
+            @Value("${cache.consultas.financeiro.ttl-seconds:120}") long financeiroTtl,
+            @Value("${cache.consultas.assistencia-social.max-size:5000}") long assistenciaTamanho,
+            @Value("${cache.consultas.assistencia-social.ttl-seconds:300}") long assistenciaTtl,
+            MeterRegistry meterRegistry) {
+        this.membrosPorId = new CacheConsulta<>("consultas.membros.id", habilitado, membrosTamanho, membrosTtl, meterRegistry);
+        this.membrosPorCpf = new CacheConsulta<>("consultas.membros.cpf", habilitado, membrosTamanho, membrosTtl, meterRegistry);
+        this.membrosPorRi = new CacheConsulta<>("consultas.membros.ri", habilitado, membrosTamanho, membrosTtl, meterRegistry);
+        this.financeiroPorId = new CacheConsulta<>("consultas.financeiro.id", habilitado, financeiroTamanho, financeiroTtl, meterRegistry);
+        this.assistenciaSocialPorId = new CacheConsulta<>("consultas.assistencia-social.id", habilitado, assistenciaTamanho, assistenciaTtl, meterRegistry);
+
+        if (!habilitado) {
+            log.info("Cache de consultas desabilitado");
+        }
+    }
+
+    public CacheConsulta<Long, MembroResponse> membrosPorId() {
+        return membrosPorId;
+    }
+
+    public CacheConsulta<String, MembroResponse> membrosPorCpf() {
+        return membrosPorCpf;
+    }
+
+    public CacheConsulta<String, MembroResponse> membrosPorRi() {
+        return membrosPorRi;
+    }
+
+    public CacheConsulta<Long, FinanceiroResponse> financeiroPorId() {
+        return financeiroPorId;
+    }
+
+    public CacheConsulta<Long, AssistenciaSocialResponse> assistenciaSocialPorId() {
+        return assistenciaSocialPorId;
+    }
+
+    /**
+     * Remove um membro de todos os caches em que pode estar. As respostas financeiras embutem
+     * nome e CPF do membro, então também são descartadas.
+     */
+    public void invalidarMembro(Long id, String cpf, String... ris) {
+        membrosPorId.invalidar(id);
+        membrosPorCpf.invalidar(cpf);
+        for (String ri : ris) {
+            membrosPorRi.invalidar(ri);
+        }
+        financeiroPorId.invalidarTodos();
+    }
+}
@@ -1,9 +1,12 @@
 package com.adbrassacoma.administrativo.infrastructure.config;
 
 import com.adbrassacoma.administrativo.domain.enums.Role;
+import com.adbrassacoma.administrativo.domain.enums.TabelaVersionada;
 import com.adbrassacoma.administrativo.domain.model.TelaPermissao;
 import com.adbrassacoma.administrativo.domain.model.Usuario;
+import com.adbrassacoma.administrativo.domain.service.PermissaoCatalogoService;
 import com.adbrassacoma.administrativo.domain.service.TelaPermissaoDiscoveryService;
+import com.adbrassacoma.administrativo.domain.service.VersaoTabelaService;
 import com.adbrassacoma.administrativo.infrastructure.repository.TelaPermissaoRepository;
 import com.adbrassacoma.administrativo.infrastructure.repository.UsuarioRepository;
 import lombok.RequiredArgsConstructor;
@@ -23,11 +26,15 @@ public class DataInitializer implements CommandLineRunner {
     private final PasswordEncoder passwordEncoder;
     private final TelaPermissaoRepository telaPermissaoRepository;
     private final TelaPermissaoDiscoveryService telaPermissaoDiscoveryService;
+    private final PermissaoCatalogoService permissaoCatalogoService;
+    private final VersaoTabelaService versaoTabelaService;
 
     @Override
     public void run(String... args) throws Exception {
+        versaoTabelaService.inicializar();
         criarUsuarioAdmin();
         criarTelasPermissao();
+        permissaoCatalogoService.recarregar();
     }
 
     private void criarUsuarioAdmin() {
@@ -93,6 +100,7 @@ public class DataInitializer implements CommandLineRunner {
         }
 
         if (telasCriadas > 0 || telasAtualizadas > 0) {
+            versaoTabelaService.registrarAlteracao(TabelaVersionada.TELAS);
             log.info("{} telas de permissão criadas e {} atualizadas com sucesso!", telasCriadas, telasAtualizadas);
         } else {
             log.info("Todas as telas de permissão já estão atualizadas no sistema.");
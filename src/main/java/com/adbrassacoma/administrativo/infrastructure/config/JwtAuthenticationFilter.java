@@ -1,11 +1,13 @@
 package com.adbrassacoma.administrativo.infrastructure.config;
 
+import com.adbrassacoma.administrativo.domain.service.PermissaoCatalogoService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -13,16 +15,22 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+	public static final String HEADER_TOKEN_DESATUALIZADO = "X-Token-Atualizar";
+
 	private final JwtService jwtService;
 	private final UserDetailsService userDetailsService;
+	private final PermissaoCatalogoService permissaoCatalogoService;
 
-	public JwtAuthenticationFilter(JwtService jwtService, UserDetailsService userDetailsService) {
+	public JwtAuthenticationFilter(JwtService jwtService, UserDetailsService userDetailsService,
+			PermissaoCatalogoService permissaoCatalogoService) {
 		this.jwtService = jwtService;
 		this.userDetailsService = userDetailsService;
+		this.permissaoCatalogoService = permissaoCatalogoService;
 	}
 
 	@Override
@@ -41,8 +49,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 			   path.startsWith("/webjars") ||
 			   path.startsWith("/api/auth/cadastro") ||
 			   path.startsWith("/api/auth/login") ||
+			   path.startsWith("/api/auth/refresh") ||
 			   path.startsWith("/h2-console") ||
-			   path.startsWith("/actuator") ||
+			   path.startsWith("/actuator/health") ||
 			   path.equals("/swagger-ui.html") ||
 			   path.equals("/favicon.ico");
 	}
@@ -55,7 +64,6 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 	) throws ServletException, IOException {
 		final String authHeader = request.getHeader("Authorization");
 		final String jwt;
-		final String userEmail;
 
 		if (authHeader == null || !authHeader.startsWith("Bearer ")) {
 			filterChain.doFilter(request, response);
@@ -64,18 +72,20 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
 		try {
 			jwt = authHeader.substring(7);
-			
-			if (!jwtService.validateToken(jwt)) {
+
+			Optional<TokenVerificado> verificacao = jwtService.verificarToken(jwt);
+			if (verificacao.isEmpty()) {
 				filterChain.doFilter(request, response);
 				return;
 			}
-			
-			userEmail = jwtService.extractUsername(jwt);
 
-			if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-				UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
+			TokenVerificado tokenVerificado = verificacao.get();
+			request.setAttribute(TokenVerificado.ATRIBUTO_REQUISICAO, tokenVerificado);
 
-				if (jwtService.validateToken(jwt, userDetails)) {
+			if (SecurityContextHolder.getContext().getAuthentication() == null) {
+				UserDetails userDetails = resolverUsuario(tokenVerificado, response);
+
+				if (tokenVerificado.pertenceA(userDetails)) {
 					UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
 						userDetails,
 						null,
@@ -94,5 +104,24 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
 		filterChain.doFilter(request, response);
 	}
+
+	/**
+	 * Usa a role embutida no token quando ainda está atualizada, sem acessar o banco.
+	 * Tokens com claims desatualizadas caem na consulta ao usuário e sinalizam ao cliente
+	 * que um novo token deve ser obtido.
+	 */
+	private UserDetails resolverUsuario(TokenVerificado tokenVerificado, HttpServletResponse response) {
+		if (permissaoCatalogoService.claimsAtuais(tokenVerificado)) {
+			return User.withUsername(tokenVerificado.subject())
+				.password("")
+				.authorities(permissaoCatalogoService.authority(tokenVerificado))
+				.build();
+		}
+
+		if (permissaoCatalogoService.possuiClaims(tokenVerificado)) {
+			response.setHeader(HEADER_TOKEN_DESATUALIZADO, "true");
+		}
+		return this.userDetailsService.loadUserByUsername(tokenVerificado.subject());
+	}
 }
 
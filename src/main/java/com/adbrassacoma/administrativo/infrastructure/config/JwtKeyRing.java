@@ -0,0 +1,154 @@
+package com.adbrassacoma.administrativo.infrastructure.config;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Header;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.Locator;
+import io.jsonwebtoken.ProtectedHeader;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Conjunto de chaves de assinatura JWT, derivadas uma única vez na inicialização.
+ * A chave ativa assina os novos tokens; as chaves anteriores continuam aceitas na
+ * verificação (selecionadas pelo header "kid"), permitindo rotacionar o segredo
+ * sem invalidar as sessões em andamento. Tokens sem "kid", emitidos antes da sua
+ * introdução, são verificados com a chave ativa e, se a assinatura não conferir,
+ * com cada chave anterior.
+ */
+@Slf4j
+@Component
+public class JwtKeyRing {
+
+	private final String kidAtivo;
+	private final SecretKey chaveAtiva;
+	private final Map<String, SecretKey> chaves;
+	private final JwtParser parser;
+	private final List<JwtParser> parsersSemKid;
+
+	public JwtKeyRing(
+			@Value("${jwt.secret:MinhaChaveSecretaSuperSeguraParaJWTTokenComPeloMenos256BitsDeTamanhoParaSeguranca}") String secretKey,
+			@Value("${jwt.kid:principal}") String kidAtivo,
+			@Value("${jwt.chaves-anteriores:}") String chavesAnteriores) {
+		this.kidAtivo = kidAtivo;
+		this.chaveAtiva = derivarChave(kidAtivo, secretKey);
+
+		Map<String, SecretKey> mapa = new LinkedHashMap<>();
+		mapa.put(kidAtivo, chaveAtiva);
+		for (String entrada : chavesAnteriores.split(",")) {
+			if (entrada.isBlank()) {
+				continue;
+			}
+			int separador = entrada.indexOf(':');
+			if (separador <= 0) {
+				throw new IllegalStateException("Formato inválido em jwt.chaves-anteriores. Use kid:segredo separados por vírgula");
+			}
+			String kid = entrada.substring(0, separador).trim();
+			mapa.putIfAbsent(kid, derivarChave(kid, entrada.substring(separador + 1).trim()));
+		}
+		this.chaves = Map.copyOf(mapa);
+
+		// JwtParser é imutável e thread-safe: uma única instância atende todas as requisições
+		this.parser = Jwts.parser()
+			.keyLocator(new LocalizadorChave())
+			.build();
+		this.parsersSemKid = mapa.values().stream()
+			.filter(chave -> chave != chaveAtiva)
+			.map(chave -> Jwts.parser().keyLocator(new LocalizadorSemKid(chave)).build())
+			.toList();
+
+		log.info("Chaves JWT carregadas. Kid ativo: {}, chaves aceitas: {}", kidAtivo, chaves.keySet());
+	}
+
+	public String kidAtivo() {
+		return kidAtivo;
+	}
+
+	public SecretKey chaveAtiva() {
+		return chaveAtiva;
+	}
+
+	/**
+	 * Verifica assinatura e expiração do token e devolve as claims.
+	 */
+	public Claims extrairClaims(String token) {
+		try {
+			return parser.parseSignedClaims(token).getPayload();
+		} catch (SignatureException e) {
+			for (JwtParser anterior : parsersSemKid) {
+				try {
+					return anterior.parseSignedClaims(token).getPayload();
+				} catch (SignatureException | ChaveNaoAplicavelException ignorada) {
+					// Tenta a próxima chave anterior
+				}
+			}
+			throw e;
+		}
+	}
+
+	private static SecretKey derivarChave(String kid, String segredo) {
+		byte[] bytes = segredo.getBytes(StandardCharsets.UTF_8);
+		// HS256 exige pelo menos 256 bits; Keys.hmacShaKeyFor falharia com uma mensagem genérica
+		if (bytes.length < 32) {
+			throw new IllegalStateException("A chave JWT \"" + kid + "\" tem " + bytes.length * 8
+				+ " bits; são necessários pelo menos 256 bits (32 bytes). Gere uma com: openssl rand -base64 32");
+		}
+		return Keys.hmacShaKeyFor(bytes);
+	}
+
+	private final class LocalizadorChave implements Locator<Key> {
+
+		@Override
+		public Key locate(Header header) {
+			String kid = header instanceof ProtectedHeader protegido ? protegido.getKeyId() : null;
+
+			// Tokens emitidos antes da introdução do kid: chave ativa primeiro, depois as anteriores (ver extrairClaims)
+			if (kid == null) {
+				return chaveAtiva;
+			}
+
+			SecretKey chave = chaves.get(kid);
+			if (chave == null) {
+				throw new JwtException("Chave de assinatura desconhecida: " + kid);
+			}
+			return chave;
+		}
+	}
+
+	private static final class LocalizadorSemKid implements Locator<Key> {
+
+		private final SecretKey chave;
+
+		private LocalizadorSemKid(SecretKey chave) {
+			this.chave = chave;
+		}
+
+		@Override
+		public Key locate(Header header) {
+			// Tokens com kid já foram verificados pela chave indicada
+			if (header instanceof ProtectedHeader protegido && protegido.getKeyId() != null) {
+				throw new ChaveNaoAplicavelException();
+			}
+			return chave;
+		}
+	}
+
+	private static final class ChaveNaoAplicavelException extends JwtException {
+
+		private ChaveNaoAplicavelException() {
+			super("Token com kid não é verificado pelas chaves anteriores sem kid");
+		}
+	}
+}
@@ -1,29 +1,57 @@
 package com.adbrassacoma.administrativo.infrastructure.config;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
-import javax.crypto.SecretKey;
-import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
 import java.util.function.Function;
 
 @Slf4j
 @Service
 public class JwtService {
 
-	@Value("${jwt.secret:MinhaChaveSecretaSuperSeguraParaJWTTokenComPeloMenos256BitsDeTamanhoParaSeguranca}")
-	private String secretKey;
-
-	@Value("${jwt.expiration:86400000}") // 24 horas em milissegundos
-	private Long expiration;
+	private final JwtKeyRing keyRing;
+
+	private final Long expiration;
+
+	private final TokenRevogacaoIndex revogacaoIndex;
+
+	// Tokens já verificados, mantidos apenas até a própria expiração do token
+	private final Cache<String, TokenVerificado> tokensVerificados;
+
+	public JwtService(
+			JwtKeyRing keyRing,
+			@Value("${jwt.expiration:900000}") Long expiration, // 15 minutos em milissegundos
+			@Value("${jwt.cache.max-size:10000}") long tamanhoMaximoCache,
+			TokenRevogacaoIndex revogacaoIndex,
+			MeterRegistry meterRegistry) {
+		this.keyRing = keyRing;
+		this.expiration = expiration;
+		this.revogacaoIndex = revogacaoIndex;
+		this.tokensVerificados = Caffeine.newBuilder()
+			.maximumSize(tamanhoMaximoCache)
+			.expireAfter(new ExpiraComToken())
+			.recordStats()
+			.build();
+		CaffeineCacheMetrics.monitor(meterRegistry, tokensVerificados, "jwt.tokens.verificados");
+	}
 
 	public String extractUsername(String token) {
 		return extractClaim(token, Claims::getSubject);
@@ -39,15 +67,52 @@ public class JwtService {
 	}
 
 	private Claims extractAllClaims(String token) {
-		return Jwts.parser()
-			.verifyWith(getSigningKey())
-			.build()
-			.parseSignedClaims(token)
-			.getPayload();
+		return keyRing.extrairClaims(token);
 	}
 
-	private Boolean isTokenExpired(String token) {
-		return extractExpiration(token).before(new Date());
+	/**
+	 * Verifica assinatura e expiração do token uma única vez.
+	 * Tokens já verificados são servidos do cache sem nova operação criptográfica.
+	 */
+	public Optional<TokenVerificado> verificarToken(String token) {
+		TokenVerificado emCache = tokensVerificados.getIfPresent(token);
+		if (emCache != null && !emCache.expirado()) {
+			return naoRevogado(emCache);
+		}
+
+		try {
+			Claims claims = extractAllClaims(token);
+			if (claims.getSubject() == null || claims.getExpiration() == null) {
+				log.warn("Token JWT sem subject ou expiração");
+				return Optional.empty();
+			}
+
+			TokenVerificado verificado = new TokenVerificado(
+				claims.getSubject(),
+				claims.getExpiration().toInstant(),
+				claims
+			);
+			tokensVerificados.put(token, verificado);
+			return naoRevogado(verificado);
+		} catch (ExpiredJwtException e) {
+			log.warn("Token JWT expirado ou inválido");
+			return Optional.empty();
+		} catch (JwtException | IllegalArgumentException e) {
+			log.error("Erro ao validar token JWT: {}", e.getMessage());
+			return Optional.empty();
+		}
+	}
+
+	private Optional<TokenVerificado> naoRevogado(TokenVerificado token) {
+		if (revogacaoIndex.estaRevogado(token)) {
+			log.warn("Token JWT revogado. Subject: {}", token.subject());
+			return Optional.empty();
+		}
+		return Optional.of(token);
+	}
+
+	public long getExpiracaoEmSegundos() {
+		return expiration / 1000;
 	}
 
 	public String generateToken(UserDetails userDetails) {
@@ -63,37 +128,42 @@ public class JwtService {
 		return token;
 	}
 
+	public String generateToken(String email, Map<String, Object> claimsAdicionais) {
+		log.debug("Gerando token JWT com claims de autorização para email: {}", email);
+		return createToken(new HashMap<>(claimsAdicionais), email);
+	}
+
 	private String createToken(Map<String, Object> claims, String subject) {
 		return Jwts.builder()
+			.header().keyId(keyRing.kidAtivo()).and()
 			.claims(claims)
+			.id(UUID.randomUUID().toString())
 			.subject(subject)
 			.issuedAt(new Date(System.currentTimeMillis()))
 			.expiration(new Date(System.currentTimeMillis() + expiration))
-			.signWith(getSigningKey())
+			.signWith(keyRing.chaveAtiva())
 			.compact();
 	}
 
-	public Boolean validateToken(String token, UserDetails userDetails) {
-		final String username = extractUsername(token);
-		return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
-	}
+	/**
+	 * Mantém cada entrada no cache somente até o instante de expiração do próprio token.
+	 */
+	private static final class ExpiraComToken implements Expiry<String, TokenVerificado> {
 
-	public Boolean validateToken(String token) {
-		try {
-			boolean isValid = !isTokenExpired(token);
-			if (!isValid) {
-				log.warn("Token JWT expirado ou inválido");
-			}
-			return isValid;
-		} catch (Exception e) {
-			log.error("Erro ao validar token JWT: {}", e.getMessage());
-			return false;
+		@Override
+		public long expireAfterCreate(String token, TokenVerificado verificado, long currentTime) {
+			long restante = Duration.between(Instant.now(), verificado.expiracao()).toNanos();
+			return Math.max(restante, 0L);
+		}
+
+		@Override
+		public long expireAfterUpdate(String token, TokenVerificado verificado, long currentTime, long currentDuration) {
+			return expireAfterCreate(token, verificado, currentTime);
 		}
-	}
 
-	private SecretKey getSigningKey() {
-		byte[] keyBytes = secretKey.getBytes(StandardCharsets.UTF_8);
-		return Keys.hmacShaKeyFor(keyBytes);
+		@Override
+		public long expireAfterRead(String token, TokenVerificado verificado, long currentTime, long currentDuration) {
+			return currentDuration;
+		}
 	}
 }
-
@@ -0,0 +1,189 @@
+package com.adbrassacoma.administrativo.infrastructure.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.ILoggerFactory;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+import org.slf4j.helpers.MessageFormatter;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Amostragem adaptativa dos logs INFO/DEBUG gerados durante uma requisição.
+ *
+ * Enquanto a aplicação recebe até logging.amostragem.max-requisicoes-por-segundo todas as
+ * requisições são logadas; acima disso apenas a fração alvo / vazão do último segundo.
+ * A decisão é tomada no início da requisição e marcada no MDC, e um TurboFilter do Logback
+ * retém os eventos INFO e inferiores das requisições não amostradas até o desfecho ser conhecido
+ * (até logging.amostragem.max-eventos-por-requisicao eventos, já formatados).
+ * Um WARN ou ERROR durante a requisição grava imediatamente os eventos retidos, na ordem original,
+ * e encerra a amostragem para o restante da requisição. Ao final, o LoggingFilter grava os eventos
+ * retidos de requisições com erro ou lentas e descarta os das demais. Eventos regravados recebem o
+ * horário da regravação.
+ */
+@Slf4j
+@Component
+public class LogSampler implements DisposableBean {
+
+	public static final String MDC_DESCARTAR = "logDescartar";
+
+	private final boolean habilitada;
+	private final long maxRequisicoesPorSegundo;
+	private final long limiteLentoMs;
+	private final int maxEventosPorRequisicao;
+
+	private final AtomicLong segundoAtual = new AtomicLong();
+	private final AtomicLong requisicoesNoSegundo = new AtomicLong();
+	private volatile double taxa = 1.0;
+
+	private final Counter descartados;
+	private final FiltroAmostragem filtro = new FiltroAmostragem();
+
+	// Eventos retidos da requisição não amostrada em andamento na thread
+	private final ThreadLocal<List<EventoRetido>> retidos = new ThreadLocal<>();
+
+	public LogSampler(
+			@Value("${logging.amostragem.habilitada:true}") boolean habilitada,
+			@Value("${logging.amostragem.max-requisicoes-por-segundo:50}") long maxRequisicoesPorSegundo,
+			@Value("${logging.amostragem.lento-ms:1000}") long limiteLentoMs,
+			@Value("${logging.amostragem.max-eventos-por-requisicao:200}") int maxEventosPorRequisicao,
+			MeterRegistry meterRegistry) {
+		this.habilitada = habilitada;
+		this.maxRequisicoesPorSegundo = maxRequisicoesPorSegundo;
+		this.limiteLentoMs = limiteLentoMs;
+		this.maxEventosPorRequisicao = maxEventosPorRequisicao;
+		this.descartados = Counter.builder("logs.descartados")
+			.description("Eventos de log descartados pela amostragem")
+			.register(meterRegistry);
+		Gauge.builder("logs.amostragem.taxa", this, sampler -> sampler.taxa)
+			.description("Fração das requisições com logs INFO mantidos")
+			.register(meterRegistry);
+
+		ILoggerFactory factory = LoggerFactory.getILoggerFactory();
+		if (habilitada && factory instanceof LoggerContext contexto) {
+			filtro.setName("amostragem-logs");
+			filtro.start();
+			contexto.addTurboFilter(filtro);
+		} else if (habilitada) {
+			log.warn("Amostragem de logs requer Logback; desabilitada");
+		}
+	}
+
+	/**
+	 * Decide se os logs da requisição que está começando serão mantidos.
+	 */
+	public boolean amostrar() {
+		if (!habilitada) {
+			return true;
+		}
+		atualizarTaxa();
+		double taxaAtual = taxa;
+		return taxaAtual >= 1.0 || ThreadLocalRandom.current().nextDouble() < taxaAtual;
+	}
+
+	/**
+	 * Passa a reter os eventos INFO e inferiores da requisição não amostrada que está começando na thread.
+	 */
+	public void iniciarRetencao() {
+		retidos.set(new ArrayList<>());
+		MDC.put(MDC_DESCARTAR, "true");
+	}
+
+	/**
+	 * Encerra a retenção da requisição: requisições com erro ou lentas têm os eventos retidos gravados,
+	 * as demais os descartam.
+	 */
+	public void finalizarRetencao(int status, long duracaoMs) {
+		if (retidos.get() == null) {
+			return;
+		}
+		if (status >= 400 || duracaoMs >= limiteLentoMs) {
+			liberarRetidos();
+		} else {
+			// A marcação continua no MDC: a linha de acesso também é descartada
+			descartados.increment(retidos.get().size());
+			retidos.remove();
+		}
+	}
+
+	// A marcação sai do MDC antes da regravação para que os eventos passem pelo filtro
+	private void liberarRetidos() {
+		List<EventoRetido> eventos = retidos.get();
+		retidos.remove();
+		MDC.remove(MDC_DESCARTAR);
+		if (eventos == null) {
+			return;
+		}
+		for (EventoRetido evento : eventos) {
+			evento.logger().log(evento.marker(), LogSampler.class.getName(),
+				Level.toLocationAwareLoggerInteger(evento.level()), evento.mensagem(), null, evento.throwable());
+		}
+	}
+
+	private void atualizarTaxa() {
+		long segundo = System.currentTimeMillis() / 1000;
+		long anterior = segundoAtual.get();
+		if (segundo != anterior && segundoAtual.compareAndSet(anterior, segundo)) {
+			long vazao = requisicoesNoSegundo.getAndSet(0);
+			// Sem tráfego no segundo anterior a janela recomeça com amostragem total
+			taxa = segundo - anterior > 1 || vazao <= maxRequisicoesPorSegundo
+				? 1.0
+				: (double) maxRequisicoesPorSegundo / vazao;
+		}
+		requisicoesNoSegundo.incrementAndGet();
+	}
+
+	@Override
+	public void destroy() {
+		if (LoggerFactory.getILoggerFactory() instanceof LoggerContext contexto) {
+			contexto.getTurboFilterList().remove(filtro);
+		}
+	}
+
+	private final class FiltroAmostragem extends TurboFilter {
+
+		@Override
+		public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+			if (level == null || MDC.get(MDC_DESCARTAR) == null) {
+				return FilterReply.NEUTRAL;
+			}
+			// WARN/ERROR: grava o que foi retido antes dele e mantém o restante da requisição
+			if (level.isGreaterOrEqual(Level.WARN)) {
+				liberarRetidos();
+				return FilterReply.NEUTRAL;
+			}
+			// Retém apenas eventos que seriam de fato escritos pelo nível efetivo do logger
+			if (level.isGreaterOrEqual(logger.getEffectiveLevel())) {
+				List<EventoRetido> eventos = retidos.get();
+				if (eventos != null && eventos.size() < maxEventosPorRequisicao) {
+					// Formatado agora: os parâmetros podem mudar até o fim da requisição
+					String mensagem = params != null && params.length > 0
+						? MessageFormatter.arrayFormat(format, params).getMessage()
+						: format;
+					eventos.add(new EventoRetido(logger, marker, level, mensagem, t));
+				} else {
+					descartados.increment();
+				}
+			}
+			return FilterReply.DENY;
+		}
+	}
+
+	private record EventoRetido(Logger logger, Marker marker, Level level, String mensagem, Throwable throwable) {
+	}
+}
@@ -4,7 +4,10 @@ import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.annotation.Order;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -12,24 +15,41 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
+@Slf4j
 @Component
 @Order(2)
+@RequiredArgsConstructor
 public class LoggingFilter extends OncePerRequestFilter {
 
+    public static final String HEADER_REQUEST_ID = "X-Request-Id";
+
+    // Reaproveita o X-Request-Id enviado por um proxy/gateway para correlacionar os logs
+    @Value("${logging.request-id.aceitar-header:true}")
+    private boolean aceitarRequestIdDoCliente;
+
+    private final LogSampler logSampler;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
 
-        long startTime = System.currentTimeMillis();
+        long startTime = System.nanoTime();
+        boolean amostrado = logSampler.amostrar();
 
         try {
-            MDC.put("requestId", UUID.randomUUID().toString());
+            String requestId = resolverRequestId(request);
+            response.setHeader(HEADER_REQUEST_ID, requestId);
+
+            MDC.put("requestId", requestId);
             MDC.put("clientIp", getClientIP(request));
             MDC.put("userAgent", request.getHeader("User-Agent"));
             MDC.put("requestUri", request.getRequestURI());
             MDC.put("httpMethod", request.getMethod());
+            if (!amostrado) {
+                logSampler.iniciarRetencao();
+            }
 
             Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
             if (authentication != null && authentication.isAuthenticated() &&
@@ -40,19 +60,33 @@ public class LoggingFilter extends OncePerRequestFilter {
             filterChain.doFilter(request, response);
 
         } finally {
-            long duration = System.currentTimeMillis() - startTime;
+            long duration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
             MDC.put("duration", String.valueOf(duration));
 
-            logger.info(String.format("Request processed: %s %s - Status: %d - Duration: %dms",
+            if (!amostrado) {
+                logSampler.finalizarRetencao(response.getStatus(), duration);
+            }
+
+            log.info("Request processed: {} {} - Status: {} - Duration: {}ms",
                     request.getMethod(),
                     request.getRequestURI(),
                     response.getStatus(),
-                    duration));
+                    duration);
 
             MDC.clear();
         }
     }
 
+    private String resolverRequestId(HttpServletRequest request) {
+        if (aceitarRequestIdDoCliente) {
+            String recebido = request.getHeader(HEADER_REQUEST_ID);
+            if (RequestIdGenerator.valido(recebido)) {
+                return recebido;
+            }
+        }
+        return RequestIdGenerator.gerar();
+    }
+
     private String getClientIP(HttpServletRequest request) {
         String xfHeader = request.getHeader("X-Forwarded-For");
         if (xfHeader == null) {
@@ -0,0 +1,123 @@
+package com.adbrassacoma.administrativo.infrastructure.config;
+
+import com.adbrassacoma.administrativo.infrastructure.exception.ServicoIndisponivelException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executa o hash e a verificação de senhas (BCrypt) em um pool dedicado e limitado.
+ *
+ * Rajadas de login deixam de ocupar indefinidamente as threads do Tomcat: acima da
+ * capacidade do pool e da fila a requisição é recusada na hora com
+ * {@link ServicoIndisponivelException}, respondida como 503 com Retry-After.
+ */
+@Slf4j
+public class PasswordEncoderLimitado implements PasswordEncoder, DisposableBean {
+
+	private final PasswordEncoder delegate;
+	private final ThreadPoolExecutor executor;
+	private final long retryAfterSeconds;
+	private final Timer timerEncode;
+	private final Timer timerMatches;
+	private final Counter rejeicoes;
+
+	public PasswordEncoderLimitado(PasswordEncoder delegate, int threads, int capacidadeFila,
+			long retryAfterSeconds, MeterRegistry meterRegistry) {
+		this.delegate = delegate;
+		this.retryAfterSeconds = retryAfterSeconds;
+		this.executor = new ThreadPoolExecutor(
+			threads, threads,
+			0L, TimeUnit.MILLISECONDS,
+			new ArrayBlockingQueue<>(capacidadeFila),
+			new FabricaThreads(),
+			new ThreadPoolExecutor.AbortPolicy());
+
+		this.timerEncode = Timer.builder("auth.senha.hash")
+			.description("Tempo de execução do hash de senha")
+			.tag("operacao", "encode")
+			.register(meterRegistry);
+		this.timerMatches = Timer.builder("auth.senha.hash")
+			.description("Tempo de execução do hash de senha")
+			.tag("operacao", "matches")
+			.register(meterRegistry);
+		this.rejeicoes = Counter.builder("auth.senha.rejeitadas")
+			.description("Operações de hash recusadas por falta de capacidade")
+			.register(meterRegistry);
+		// Expõe executor.queued, executor.active, executor.queue.remaining etc.
+		new ExecutorServiceMetrics(executor, "auth.senha", List.of()).bindTo(meterRegistry);
+	}
+
+	@Override
+	public String encode(CharSequence rawPassword) {
+		return executar(timerEncode, () -> delegate.encode(rawPassword));
+	}
+
+	@Override
+	public boolean matches(CharSequence rawPassword, String encodedPassword) {
+		return executar(timerMatches, () -> delegate.matches(rawPassword, encodedPassword));
+	}
+
+	@Override
+	public boolean upgradeEncoding(String encodedPassword) {
+		return delegate.upgradeEncoding(encodedPassword);
+	}
+
+	private <T> T executar(Timer timer, Callable<T> operacao) {
+		Future<T> futuro;
+		try {
+			futuro = executor.submit(() -> timer.recordCallable(operacao));
+		} catch (RejectedExecutionException e) {
+			rejeicoes.increment();
+			log.warn("Pool de hash de senha saturado. Ativas: {}, Fila: {}",
+				executor.getActiveCount(), executor.getQueue().size());
+			throw new ServicoIndisponivelException(
+				"Servidor ocupado processando autenticações. Tente novamente em instantes.", retryAfterSeconds);
+		}
+
+		try {
+			return futuro.get();
+		} catch (InterruptedException e) {
+			futuro.cancel(true);
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Hash de senha interrompido", e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException runtime) {
+				throw runtime;
+			}
+			throw new IllegalStateException("Erro ao processar hash de senha", e.getCause());
+		}
+	}
+
+	@Override
+	public void destroy() {
+		executor.shutdown();
+	}
+
+	private static final class FabricaThreads implements ThreadFactory {
+
+		private final AtomicInteger contador = new AtomicInteger();
+
+		@Override
+		public Thread newThread(Runnable tarefa) {
+			Thread thread = new Thread(tarefa, "hash-senha-" + contador.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}
+	}
+}
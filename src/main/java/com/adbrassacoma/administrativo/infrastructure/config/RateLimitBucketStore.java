@@ -0,0 +1,18 @@
+package com.adbrassacoma.administrativo.infrastructure.config;
+
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.BucketConfiguration;
+
+import java.util.function.Supplier;
+
+/**
+ * Armazenamento dos buckets usados pelo {@link RateLimitFilter}.
+ * A implementação é escolhida pela propriedade rate.limit.backend (memoria ou jdbc).
+ */
+public interface RateLimitBucketStore {
+
+	/**
+	 * Retorna o bucket da chave informada, criando-o com a configuração fornecida quando ainda não existir.
+	 */
+	Bucket obter(String chave, Supplier<BucketConfiguration> configuracao);
+}
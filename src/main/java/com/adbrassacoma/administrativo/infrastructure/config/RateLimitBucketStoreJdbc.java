@@ -0,0 +1,182 @@
+package com.adbrassacoma.administrativo.infrastructure.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.distributed.proxy.ClientSideConfig;
+import io.github.bucket4j.distributed.proxy.RemoteBucketBuilder;
+import io.github.bucket4j.distributed.proxy.generic.compare_and_swap.AbstractCompareAndSwapBasedProxyManager;
+import io.github.bucket4j.distributed.proxy.generic.compare_and_swap.AsyncCompareAndSwapOperation;
+import io.github.bucket4j.distributed.proxy.generic.compare_and_swap.CompareAndSwapOperation;
+import io.github.bucket4j.distributed.proxy.optimization.DelayParameters;
+import io.github.bucket4j.distributed.proxy.optimization.Optimizations;
+import io.github.bucket4j.distributed.remote.RemoteBucketState;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Buckets de rate limit compartilhados entre instâncias através do datasource da aplicação.
+ *
+ * O estado de cada bucket fica na tabela rate_limit_bucket e é atualizado com compare-and-swap,
+ * de modo que todos os nós consomem do mesmo limite. Para não ir ao banco a cada requisição,
+ * cada nó pode consumir localmente até rate.limit.jdbc.tokens-nao-sincronizados tokens
+ * (ou por rate.limit.jdbc.intervalo-sincronizacao-ms) antes de sincronizar; esse é o
+ * excesso máximo que cada nó pode conceder além do limite configurado.
+ * A tabela é criada pelo ddl-auto a partir da entidade RateLimitBucketEstado.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "rate.limit.backend", havingValue = "jdbc")
+public class RateLimitBucketStoreJdbc implements RateLimitBucketStore {
+
+	private static final String TABELA = "rate_limit_bucket";
+
+	private final JdbcTemplate jdbcTemplate;
+	private final ProxyManagerJdbc proxyManager;
+	private final long tokensNaoSincronizados;
+	private final Duration intervaloSincronizacao;
+	private final Duration tempoOcioso;
+
+	// Proxies locais: mantêm o estado da otimização de sincronização entre requisições
+	private final Cache<String, Bucket> buckets;
+
+	public RateLimitBucketStoreJdbc(
+			DataSource dataSource,
+			@Value("${rate.limit.store.max-size:100000}") long tamanhoMaximo,
+			@Value("${rate.limit.store.idle-seconds:120}") long segundosOcioso,
+			@Value("${rate.limit.jdbc.tokens-nao-sincronizados:5}") long tokensNaoSincronizados,
+			@Value("${rate.limit.jdbc.intervalo-sincronizacao-ms:500}") long intervaloSincronizacaoMs,
+			MeterRegistry meterRegistry) {
+		this.jdbcTemplate = new JdbcTemplate(dataSource);
+		this.proxyManager = new ProxyManagerJdbc(jdbcTemplate);
+		this.tokensNaoSincronizados = tokensNaoSincronizados;
+		this.intervaloSincronizacao = Duration.ofMillis(intervaloSincronizacaoMs);
+		this.tempoOcioso = Duration.ofSeconds(segundosOcioso);
+		this.buckets = Caffeine.newBuilder()
+			.maximumSize(tamanhoMaximo)
+			.expireAfterAccess(tempoOcioso)
+			.recordStats()
+			.build();
+		CaffeineCacheMetrics.monitor(meterRegistry, buckets, "rate.limit.buckets");
+		log.info("Rate limit distribuído habilitado via JDBC. Tokens não sincronizados por nó: {}", tokensNaoSincronizados);
+	}
+
+	@Override
+	public Bucket obter(String chave, Supplier<BucketConfiguration> configuracao) {
+		return buckets.get(chave, k -> {
+			RemoteBucketBuilder<String> builder = proxyManager.builder();
+			if (tokensNaoSincronizados > 0) {
+				builder = builder.withOptimization(Optimizations.delaying(
+					new DelayParameters(tokensNaoSincronizados, intervaloSincronizacao)));
+			}
+			return builder.build(k, configuracao);
+		});
+	}
+
+	/**
+	 * Remove do banco os buckets sem uso há mais tempo que o tempo ocioso configurado.
+	 */
+	@Scheduled(fixedDelayString = "${rate.limit.jdbc.limpeza-ms:300000}")
+	public void removerOciosos() {
+		long limite = System.currentTimeMillis() - tempoOcioso.toMillis();
+		int removidos = jdbcTemplate.update("DELETE FROM " + TABELA + " WHERE atualizado_em < ?", limite);
+		if (removidos > 0) {
+			log.debug("{} buckets de rate limit ociosos removidos", removidos);
+		}
+	}
+
+	private static final class ProxyManagerJdbc extends AbstractCompareAndSwapBasedProxyManager<String> {
+
+		private final JdbcTemplate jdbcTemplate;
+
+		ProxyManagerJdbc(JdbcTemplate jdbcTemplate) {
+			super(ClientSideConfig.getDefault());
+			this.jdbcTemplate = jdbcTemplate;
+		}
+
+		@Override
+		protected CompareAndSwapOperation beginCompareAndSwapOperation(String chave) {
+			return new CompareAndSwapOperation() {
+
+				@Override
+				public Optional<byte[]> getStateData(Optional<Long> timeoutNanos) {
+					List<byte[]> estados = jdbcTemplate.query(
+						"SELECT estado FROM " + TABELA + " WHERE id = ?",
+						(rs, linha) -> rs.getBytes(1),
+						chave);
+					return estados.stream().findFirst();
+				}
+
+				@Override
+				public boolean compareAndSwap(byte[] originalData, byte[] newData, RemoteBucketState newState,
+						Optional<Long> timeoutNanos) {
+					long agora = System.currentTimeMillis();
+					if (originalData == null) {
+						try {
+							return jdbcTemplate.update(
+								"INSERT INTO " + TABELA + " (id, estado, atualizado_em) VALUES (?, ?, ?)",
+								chave, newData, agora) == 1;
+						} catch (DuplicateKeyException e) {
+							// Outro nó criou o bucket primeiro; o Bucket4j repete a operação
+							return false;
+						}
+					}
+					return jdbcTemplate.update(
+						"UPDATE " + TABELA + " SET estado = ?, atualizado_em = ? WHERE id = ? AND estado = ?",
+						newData, agora, chave, originalData) == 1;
+				}
+			};
+		}
+
+		@Override
+		protected AsyncCompareAndSwapOperation beginAsyncCompareAndSwapOperation(String chave) {
+			// O JdbcTemplate é bloqueante: o modo assíncrono executa a operação síncrona e devolve o resultado pronto
+			CompareAndSwapOperation operacao = beginCompareAndSwapOperation(chave);
+			return new AsyncCompareAndSwapOperation() {
+
+				@Override
+				public CompletableFuture<Optional<byte[]>> getStateData(Optional<Long> timeoutNanos) {
+					return CompletableFuture.completedFuture(operacao.getStateData(timeoutNanos));
+				}
+
+				@Override
+				public CompletableFuture<Boolean> compareAndSwap(byte[] originalData, byte[] newData,
+						RemoteBucketState newState, Optional<Long> timeoutNanos) {
+					return CompletableFuture.completedFuture(
+						operacao.compareAndSwap(originalData, newData, newState, timeoutNanos));
+				}
+			};
+		}
+
+		@Override
+		public void removeProxy(String chave) {
+			jdbcTemplate.update("DELETE FROM " + TABELA + " WHERE id = ?", chave);
+		}
+
+		@Override
+		protected CompletableFuture<Void> removeAsync(String chave) {
+			removeProxy(chave);
+			return CompletableFuture.completedFuture(null);
+		}
+
+		@Override
+		public boolean isAsyncModeSupported() {
+			return true;
+		}
+	}
+}
@@ -0,0 +1,62 @@
+package com.adbrassacoma.administrativo.infrastructure.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.local.LocalBucketBuilder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Armazena os buckets de rate limit em memória, com tamanho máximo e expiração por inatividade.
+ *
+ * Um bucket ocioso por mais tempo que o seu intervalo de recarga está cheio de novo,
+ * então descartá-lo e recriá-lo depois não altera o limite aplicado ao cliente.
+ * Chaves forjadas (por exemplo via X-Forwarded-For) deixam de crescer o heap sem limite.
+ * Os limites valem por instância; para vários nós use o backend jdbc.
+ */
+@Component
+@ConditionalOnProperty(name = "rate.limit.backend", havingValue = "memoria", matchIfMissing = true)
+public class RateLimitBucketStoreMemoria implements RateLimitBucketStore {
+
+	private final Cache<String, Bucket> buckets;
+
+	public RateLimitBucketStoreMemoria(
+			@Value("${rate.limit.store.max-size:100000}") long tamanhoMaximo,
+			@Value("${rate.limit.store.idle-seconds:120}") long segundosOcioso,
+			MeterRegistry meterRegistry) {
+		this.buckets = Caffeine.newBuilder()
+			.maximumSize(tamanhoMaximo)
+			.expireAfterAccess(Duration.ofSeconds(segundosOcioso))
+			.recordStats()
+			.build();
+		// cache.size e cache.evictions ficam disponíveis com o nome rate.limit.buckets
+		CaffeineCacheMetrics.monitor(meterRegistry, buckets, "rate.limit.buckets");
+	}
+
+	@Override
+	public Bucket obter(String chave, Supplier<BucketConfiguration> configuracao) {
+		return buckets.get(chave, k -> criarBucket(configuracao.get()));
+	}
+
+	long tamanho() {
+		buckets.cleanUp();
+		return buckets.estimatedSize();
+	}
+
+	private static Bucket criarBucket(BucketConfiguration configuracao) {
+		LocalBucketBuilder builder = Bucket.builder();
+		for (Bandwidth limite : configuracao.getBandwidths()) {
+			builder.addLimit(limite);
+		}
+		return builder.build();
+	}
+}
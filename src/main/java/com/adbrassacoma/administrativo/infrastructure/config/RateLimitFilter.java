@@ -2,24 +2,30 @@ package com.adbrassacoma.administrativo.infrastructure.config;
 
 import io.github.bucket4j.Bandwidth;
 import io.github.bucket4j.Bucket;
+import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.ConsumptionProbe;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.annotation.Order;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.time.Duration;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @Component
 @Order(1)
+@RequiredArgsConstructor
 public class RateLimitFilter extends OncePerRequestFilter {
 
     @Value("${rate.limit.general:100}")
@@ -28,45 +34,53 @@ public class RateLimitFilter extends OncePerRequestFilter {
     @Value("${rate.limit.auth:5}")
     private int authRateLimit;
 
-    private final Map<String, Bucket> generalCache = new ConcurrentHashMap<>();
-    private final Map<String, Bucket> authCache = new ConcurrentHashMap<>();
+    private final RateLimitBucketStore bucketStore;
+
+    private final RateLimitPoliticas politicas;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
 
-        String clientIp = getClientIP(request);
         String requestUri = request.getRequestURI();
+        RateLimitPoliticas.Politica politica = politicas.resolver(request.getMethod(), requestUri);
+
+        if (politica.grupo() == RateLimitPoliticas.Grupo.ISENTO) {
+            filterChain.doFilter(request, response);
+            return;
+        }
 
+        String clientKey;
         Bucket bucket;
         int limit;
 
-        if (requestUri.startsWith("/api/auth/login") || requestUri.startsWith("/api/auth/cadastro")) {
-            bucket = authCache.computeIfAbsent(clientIp, k -> createBucket(authRateLimit));
+        if (politica.grupo() == RateLimitPoliticas.Grupo.AUTH) {
+            clientKey = "ip:" + getClientIP(request);
+            bucket = bucketStore.obter("auth:" + clientKey, () -> createConfiguration(authRateLimit));
             limit = authRateLimit;
-        } else if (requestUri.startsWith("/actuator") ||
-                requestUri.startsWith("/swagger-ui") ||
-                requestUri.startsWith("/v3/api-docs") ||
-                requestUri.startsWith("/h2-console")) {
-            filterChain.doFilter(request, response);
-            return;
         } else {
-            bucket = generalCache.computeIfAbsent(clientIp, k -> createBucket(generalRateLimit));
+            clientKey = getClientKey(request);
+            bucket = bucketStore.obter("geral:" + clientKey, () -> createConfiguration(generalRateLimit));
             limit = generalRateLimit;
         }
 
-        if (bucket.tryConsume(1)) {
+        // Uma única requisição nunca pode custar mais que a capacidade do bucket
+        int custo = Math.min(politica.custo(), limit);
+        ConsumptionProbe probe = bucket.tryConsumeAndReturnRemaining(custo);
+
+        if (probe.isConsumed()) {
             response.setHeader("X-Rate-Limit-Limit", String.valueOf(limit));
-            response.setHeader("X-Rate-Limit-Remaining", String.valueOf(bucket.getAvailableTokens()));
+            response.setHeader("X-Rate-Limit-Remaining", String.valueOf(probe.getRemainingTokens()));
 
             filterChain.doFilter(request, response);
         } else {
-            log.warn("Rate limit exceeded for IP: {} on endpoint: {}", clientIp, requestUri);
+            log.warn("Rate limit exceeded for client: {} on endpoint: {} (cost: {})", clientKey, requestUri, custo);
 
             response.setStatus(429);
             response.setHeader("X-Rate-Limit-Limit", String.valueOf(limit));
             response.setHeader("X-Rate-Limit-Remaining", "0");
-            response.setHeader("X-Rate-Limit-Retry-After-Seconds", "60");
+            response.setHeader("X-Rate-Limit-Retry-After-Seconds",
+                    String.valueOf(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(probe.getNanosToWaitForRefill()))));
             response.setContentType("application/json");
             response.getWriter().write(
                     "{\"timestamp\":\"" + java.time.LocalDateTime.now() + "\"," +
@@ -77,16 +91,29 @@ public class RateLimitFilter extends OncePerRequestFilter {
         }
     }
 
-    private Bucket createBucket(int capacity) {
+    private BucketConfiguration createConfiguration(int capacity) {
         Bandwidth limit = Bandwidth.builder()
                 .capacity(capacity)
                 .refillIntervally(capacity, Duration.ofMinutes(1))
                 .build();
-        return Bucket.builder()
+        return BucketConfiguration.builder()
                 .addLimit(limit)
                 .build();
     }
 
+    /**
+     * Usuários autenticados têm o próprio limite, independente do IP de origem.
+     * Requisições anônimas continuam limitadas por IP.
+     */
+    private String getClientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return "usuario:" + authentication.getName();
+        }
+        return "ip:" + getClientIP(request);
+    }
+
     private String getClientIP(HttpServletRequest request) {
         String xfHeader = request.getHeader("X-Forwarded-For");
         if (xfHeader == null) {
@@ -0,0 +1,89 @@
+package com.adbrassacoma.administrativo.infrastructure.config;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.List;
+
+/**
+ * Tabela de políticas de rate limit por rota.
+ *
+ * Cada rota define o grupo de limite (auth ou geral) e quantos tokens uma requisição consome.
+ * Listagens completas e buscas custam mais que a leitura de um único registro.
+ * As rotas são compiladas uma única vez e avaliadas na ordem declarada; vale a primeira que casar.
+ */
+@Component
+public class RateLimitPoliticas {
+
+	public enum Grupo {
+		AUTH,
+		GERAL,
+		ISENTO
+	}
+
+	public record Politica(Grupo grupo, int custo) {
+	}
+
+	private static final Politica PADRAO = new Politica(Grupo.GERAL, 1);
+
+	private final List<Regra> regras;
+
+	public RateLimitPoliticas() {
+		PathPatternParser parser = PathPatternParser.defaultInstance;
+		this.regras = List.of(
+			// Documentação, console e monitoramento
+			new Regra(null, parser.parse("/actuator/**"), new Politica(Grupo.ISENTO, 0)),
+			new Regra(null, parser.parse("/swagger-ui/**"), new Politica(Grupo.ISENTO, 0)),
+			new Regra(null, parser.parse("/v3/api-docs/**"), new Politica(Grupo.ISENTO, 0)),
+			new Regra(null, parser.parse("/h2-console/**"), new Politica(Grupo.ISENTO, 0)),
+
+			// Autenticação: limite próprio e sempre por IP
+			new Regra(HttpMethod.POST, parser.parse("/api/auth/login"), new Politica(Grupo.AUTH, 1)),
+			new Regra(HttpMethod.POST, parser.parse("/api/auth/cadastro"), new Politica(Grupo.AUTH, 1)),
+			new Regra(HttpMethod.POST, parser.parse("/api/auth/refresh"), new Politica(Grupo.AUTH, 1)),
+
+			// Exportações, importações e movimentações completas
+			new Regra(HttpMethod.GET, parser.parse("/api/membros/exportar"), new Politica(Grupo.GERAL, 20)),
+			new Regra(HttpMethod.POST, parser.parse("/api/membros/importar"), new Politica(Grupo.GERAL, 20)),
+			new Regra(HttpMethod.POST, parser.parse("/api/financeiro/exercicios/*/*"), new Politica(Grupo.GERAL, 20)),
+			new Regra(HttpMethod.POST, parser.parse("/api/financeiro/lote"), new Politica(Grupo.GERAL, 10)),
+
+			// Listagens paginadas
+			new Regra(HttpMethod.GET, parser.parse("/api/membros"), new Politica(Grupo.GERAL, 3)),
+			new Regra(HttpMethod.GET, parser.parse("/api/financeiro"), new Politica(Grupo.GERAL, 3)),
+			new Regra(HttpMethod.GET, parser.parse("/api/financeiro/arquivo/*"), new Politica(Grupo.GERAL, 3)),
+
+			// Totalizações por período
+			new Regra(HttpMethod.GET, parser.parse("/api/financeiro/resumo"), new Politica(Grupo.GERAL, 3)),
+
+			// Listagens completas
+			new Regra(HttpMethod.GET, parser.parse("/api/assistencia-social"), new Politica(Grupo.GERAL, 10)),
+			new Regra(HttpMethod.GET, parser.parse("/api/auth/usuarios"), new Politica(Grupo.GERAL, 10)),
+
+			// Buscas e consultas a serviços externos
+			new Regra(HttpMethod.GET, parser.parse("/api/*/buscar/**"), new Politica(Grupo.GERAL, 3)),
+			new Regra(HttpMethod.GET, parser.parse("/api/auth/usuarios/buscar/**"), new Politica(Grupo.GERAL, 3)),
+			new Regra(HttpMethod.GET, parser.parse("/api/cep/*"), new Politica(Grupo.GERAL, 2))
+		);
+	}
+
+	public Politica resolver(String metodo, String uri) {
+		PathContainer caminho = PathContainer.parsePath(uri);
+		for (Regra regra : regras) {
+			if (regra.casa(metodo, caminho)) {
+				return regra.politica();
+			}
+		}
+		return PADRAO;
+	}
+
+	private record Regra(HttpMethod metodo, PathPattern padrao, Politica politica) {
+
+		boolean casa(String metodoRequisicao, PathContainer caminho) {
+			return (metodo == null || metodo.matches(metodoRequisicao)) && padrao.matches(caminho);
+		}
+	}
+}
@@ -0,0 +1,55 @@
+package com.adbrassacoma.administrativo.infrastructure.config;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Gera identificadores de requisição no formato ULID: 26 caracteres em Base32 de Crockford,
+ * sendo 48 bits de timestamp em milissegundos seguidos de 80 bits aleatórios.
+ *
+ * Os ids ordenam pelo instante de criação e usam ThreadLocalRandom, evitando a
+ * contenção do SecureRandom por trás de UUID.randomUUID() sob carga.
+ */
+public final class RequestIdGenerator {
+
+	private static final char[] ALFABETO = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+
+	private static final int TAMANHO = 26;
+
+	private RequestIdGenerator() {
+	}
+
+	public static String gerar() {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		char[] id = new char[TAMANHO];
+		codificar(System.currentTimeMillis(), id, 0, 10);
+		// 80 bits aleatórios: 40 + 40
+		codificar(random.nextLong() & 0xFFFFFFFFFFL, id, 10, 8);
+		codificar(random.nextLong() & 0xFFFFFFFFFFL, id, 18, 8);
+		return new String(id);
+	}
+
+	/**
+	 * Indica se um id recebido do cliente é seguro para ser reaproveitado nos logs.
+	 */
+	public static boolean valido(String id) {
+		if (id == null || id.isEmpty() || id.length() > 64) {
+			return false;
+		}
+		for (int i = 0; i < id.length(); i++) {
+			char c = id.charAt(i);
+			boolean permitido = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+				|| c == '-' || c == '_' || c == '.' || c == ':';
+			if (!permitido) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static void codificar(long valor, char[] destino, int inicio, int caracteres) {
+		for (int i = inicio + caracteres - 1; i >= inicio; i--) {
+			destino[i] = ALFABETO[(int) (valor & 0x1F)];
+			valor >>>= 5;
+		}
+	}
+}
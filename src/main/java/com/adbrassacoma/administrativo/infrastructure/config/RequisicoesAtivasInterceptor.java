@@ -0,0 +1,68 @@
+package com.adbrassacoma.administrativo.infrastructure.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Mantém um gauge de requisições em andamento por rota (template) e método HTTP.
+ *
+ * A latência por rota já é publicada pelo Spring Boot em http.server.requests;
+ * este interceptor complementa com a concorrência atual de cada endpoint.
+ */
+@Component
+public class RequisicoesAtivasInterceptor implements AsyncHandlerInterceptor {
+
+	private static final String ATRIBUTO_CONTADOR = RequisicoesAtivasInterceptor.class.getName() + ".contador";
+
+	private final MeterRegistry meterRegistry;
+	private final Map<String, AtomicInteger> contadores = new ConcurrentHashMap<>();
+
+	public RequisicoesAtivasInterceptor(MeterRegistry meterRegistry) {
+		this.meterRegistry = meterRegistry;
+	}
+
+	@Override
+	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+		// Em requisições assíncronas o preHandle roda de novo no dispatch final; conta apenas uma vez
+		if (request.getAttribute(ATRIBUTO_CONTADOR) != null) {
+			return true;
+		}
+
+		Object padrao = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+		String uri = padrao != null ? padrao.toString() : "UNKNOWN";
+		AtomicInteger contador = contador(uri, request.getMethod());
+		contador.incrementAndGet();
+		request.setAttribute(ATRIBUTO_CONTADOR, contador);
+		return true;
+	}
+
+	@Override
+	public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+		Object contador = request.getAttribute(ATRIBUTO_CONTADOR);
+		if (contador instanceof AtomicInteger ativo) {
+			ativo.decrementAndGet();
+			request.removeAttribute(ATRIBUTO_CONTADOR);
+		}
+	}
+
+	private AtomicInteger contador(String uri, String metodo) {
+		return contadores.computeIfAbsent(metodo + " " + uri, chave -> {
+			AtomicInteger contador = new AtomicInteger();
+			Gauge.builder("http.server.requests.ativas", contador, AtomicInteger::get)
+				.description("Requisições em andamento por endpoint")
+				.tag("uri", uri)
+				.tag("method", metodo)
+				.register(meterRegistry);
+			return contador;
+		});
+	}
+}
@@ -1,6 +1,8 @@
 package com.adbrassacoma.administrativo.infrastructure.config;
 
 import com.adbrassacoma.administrativo.infrastructure.exception.CustomAccessDeniedHandler;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Lazy;
@@ -31,6 +33,10 @@ public class SecurityConfig {
 	private final UserDetailsService userDetailsService;
 	private final CustomAccessDeniedHandler customAccessDeniedHandler;
 
+	// Porta de gerenciamento opcional (MANAGEMENT_SERVER_PORT); -1 quando o Actuator usa a porta da aplicação
+	@Value("${management.server.port:-1}")
+	private int portaGerenciamento;
+
 	public SecurityConfig(@Lazy JwtAuthenticationFilter jwtAuthenticationFilter,
 			@Lazy UserDetailsService userDetailsService,
 			CustomAccessDeniedHandler customAccessDeniedHandler) {
@@ -58,14 +64,20 @@ public class SecurityConfig {
 								"/webjars/**",
 								"/api/auth/cadastro",
 								"/api/auth/login",
+								"/api/auth/refresh",
 								"/actuator/health",
 								"/h2-console/**",
 								"/error",
 								"/favicon.ico")
 						.permitAll()
+						// Métricas sem autenticação só na porta de gerenciamento, quando configurada; na porta da aplicação exigem ADMIN
+						.requestMatchers(request -> portaGerenciamento > 0 && request.getLocalPort() == portaGerenciamento
+								&& "/actuator/prometheus".equals(request.getRequestURI())).permitAll()
+						.requestMatchers("/actuator/prometheus").hasRole("ADMIN")
 						.requestMatchers("/api/auth/usuarios/**").hasRole("ADMIN")
 						.requestMatchers("/api/permissoes/minhas").authenticated()
 						.requestMatchers("/api/permissoes/**").hasRole("ADMIN")
+						.requestMatchers(HttpMethod.POST, "/api/financeiro/exercicios/**").hasRole("ADMIN")
 						.anyRequest().authenticated())
 				.addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
 				.userDetailsService(userDetailsService)
@@ -93,8 +105,13 @@ public class SecurityConfig {
 	}
 
 	@Bean
-	public PasswordEncoder passwordEncoder() {
-		return new BCryptPasswordEncoder();
+	public PasswordEncoder passwordEncoder(
+			@Value("${auth.hash.threads:4}") int threads,
+			@Value("${auth.hash.fila:32}") int capacidadeFila,
+			@Value("${auth.hash.retry-after-seconds:2}") long retryAfterSeconds,
+			MeterRegistry meterRegistry) {
+		return new PasswordEncoderLimitado(new BCryptPasswordEncoder(), threads, capacidadeFila,
+				retryAfterSeconds, meterRegistry);
 	}
 
 	@Bean
@@ -118,7 +135,8 @@ public class SecurityConfig {
 		configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "PATCH", "OPTIONS"));
 		configuration.setAllowedHeaders(Arrays.asList("*"));
 		configuration.setExposedHeaders(Arrays.asList("Authorization", "X-Rate-Limit-Limit", "X-Rate-Limit-Remaining",
-				"X-Rate-Limit-Retry-After-Seconds"));
+				"X-Rate-Limit-Retry-After-Seconds", "Retry-After", "ETag", LoggingFilter.HEADER_REQUEST_ID,
+				JwtAuthenticationFilter.HEADER_TOKEN_DESATUALIZADO));
 		configuration.setAllowCredentials(true);
 		configuration.setMaxAge(3600L);
 
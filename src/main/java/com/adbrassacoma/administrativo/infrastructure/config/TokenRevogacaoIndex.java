@@ -0,0 +1,99 @@
+package com.adbrassacoma.administrativo.infrastructure.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+
+/**
+ * Índice em memória de tokens de acesso revogados.
+ * Cada entrada vive apenas até o instante em que o token expiraria de qualquer forma,
+ * então o tamanho do índice fica limitado pela quantidade de revogações dentro da
+ * janela de validade do token de acesso.
+ */
+@Slf4j
+@Component
+public class TokenRevogacaoIndex {
+
+	// jti -> expiração do token revogado
+	private final Cache<String, Instant> tokensRevogados;
+
+	// subject -> instante até o qual (inclusive) os tokens emitidos deixam de valer
+	private final Cache<String, Instant> revogacoesPorUsuario;
+
+	public TokenRevogacaoIndex(
+			@Value("${jwt.revogacao.max-size:100000}") long tamanhoMaximo,
+			@Value("${jwt.expiration:900000}") long expiracaoAcessoMs,
+			MeterRegistry meterRegistry) {
+		this.tokensRevogados = Caffeine.newBuilder()
+			.maximumSize(tamanhoMaximo)
+			.expireAfter(new ExpiraNoInstante())
+			.recordStats()
+			.build();
+		this.revogacoesPorUsuario = Caffeine.newBuilder()
+			.maximumSize(tamanhoMaximo)
+			.expireAfterWrite(Duration.ofMillis(expiracaoAcessoMs))
+			.build();
+		CaffeineCacheMetrics.monitor(meterRegistry, tokensRevogados, "jwt.tokens.revogados");
+	}
+
+	public void revogar(TokenVerificado token) {
+		if (token.id() == null) {
+			return;
+		}
+		tokensRevogados.put(token.id(), token.expiracao());
+		log.debug("Token de acesso revogado. Subject: {}", token.subject());
+	}
+
+	/**
+	 * Revoga todos os tokens de acesso do usuário emitidos até agora.
+	 */
+	public void revogarUsuario(String subject) {
+		if (subject == null) {
+			return;
+		}
+		revogacoesPorUsuario.put(subject, Instant.now().truncatedTo(ChronoUnit.SECONDS));
+		log.debug("Tokens de acesso do usuário revogados. Subject: {}", subject);
+	}
+
+	public boolean estaRevogado(TokenVerificado token) {
+		if (token.id() != null && tokensRevogados.getIfPresent(token.id()) != null) {
+			return true;
+		}
+
+		Instant limite = revogacoesPorUsuario.getIfPresent(token.subject());
+		if (limite == null) {
+			return false;
+		}
+		// O iat tem resolução de segundos: um token emitido no mesmo segundo da revogação também é revogado
+		Date emissao = token.claims().getIssuedAt();
+		return emissao == null || !emissao.toInstant().isAfter(limite);
+	}
+
+	private static final class ExpiraNoInstante implements Expiry<String, Instant> {
+
+		@Override
+		public long expireAfterCreate(String jti, Instant expiracao, long currentTime) {
+			return Math.max(Duration.between(Instant.now(), expiracao).toNanos(), 0L);
+		}
+
+		@Override
+		public long expireAfterUpdate(String jti, Instant expiracao, long currentTime, long currentDuration) {
+			return expireAfterCreate(jti, expiracao, currentTime);
+		}
+
+		@Override
+		public long expireAfterRead(String jti, Instant expiracao, long currentTime, long currentDuration) {
+			return currentDuration;
+		}
+	}
+}
@@ -0,0 +1,35 @@
+package com.adbrassacoma.administrativo.infrastructure.config;
+
+import io.jsonwebtoken.Claims;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Instant;
+
+/**
+ * Resultado de uma única verificação de assinatura e parse do token JWT.
+ * É criado uma vez por requisição (ou reaproveitado do cache do JwtService)
+ * e repassado adiante, evitando novos parses do mesmo token.
+ */
+public record TokenVerificado(
+	String subject,
+	Instant expiracao,
+	Claims claims
+) {
+
+	/**
+	 * Atributo da requisição onde o filtro JWT publica o token já verificado.
+	 */
+	public static final String ATRIBUTO_REQUISICAO = "jwt.tokenVerificado";
+
+	public String id() {
+		return claims.getId();
+	}
+
+	public boolean expirado() {
+		return !expiracao.isAfter(Instant.now());
+	}
+
+	public boolean pertenceA(UserDetails userDetails) {
+		return subject.equals(userDetails.getUsername()) && !expirado();
+	}
+}
@@ -0,0 +1,77 @@
+package com.adbrassacoma.administrativo.infrastructure.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Cache em memória dos dados de autenticação carregados por email.
+ * Guarda apenas um snapshot imutável e devolve um novo UserDetails a cada leitura,
+ * já que o Spring Security apaga a senha do objeto após a autenticação.
+ */
+@Slf4j
+@Component
+public class UserDetailsCache {
+
+    private final Cache<String, DadosAutenticacao> cache;
+
+    public UserDetailsCache(
+            @Value("${auth.cache.usuarios.max-size:1000}") long tamanhoMaximo,
+            @Value("${auth.cache.usuarios.ttl-seconds:300}") long ttlSegundos,
+            MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfterWrite(Duration.ofSeconds(ttlSegundos))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "auth.usuarios");
+    }
+
+    public UserDetails obter(String email, Function<String, DadosAutenticacao> carregador) {
+        return cache.get(email, carregador).toUserDetails();
+    }
+
+    /**
+     * Remove a entrada imediatamente e novamente após o commit da transação corrente,
+     * evitando que uma leitura concorrente recoloque no cache o estado anterior.
+     */
+    public void invalidar(String email) {
+        if (email == null) {
+            return;
+        }
+
+        cache.invalidate(email);
+        log.debug("Cache de autenticação invalidado para email: {}", email);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidate(email);
+                }
+            });
+        }
+    }
+
+    public record DadosAutenticacao(String email, String senha, String authority) {
+
+        private UserDetails toUserDetails() {
+            return User.builder()
+                    .username(email)
+                    .password(senha)
+                    .authorities(authority)
+                    .build();
+        }
+    }
+}
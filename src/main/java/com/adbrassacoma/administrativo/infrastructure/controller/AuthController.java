@@ -1,10 +1,12 @@
 package com.adbrassacoma.administrativo.infrastructure.controller;
 
 import com.adbrassacoma.administrativo.domain.service.AuthService;
+import com.adbrassacoma.administrativo.infrastructure.config.TokenVerificado;
 import com.adbrassacoma.administrativo.infrastructure.dto.request.AtualizarUsuarioRequest;
 import com.adbrassacoma.administrativo.infrastructure.dto.response.AuthResponse;
 import com.adbrassacoma.administrativo.infrastructure.dto.request.CadastroUsuarioRequest;
 import com.adbrassacoma.administrativo.infrastructure.dto.request.LoginRequest;
+import com.adbrassacoma.administrativo.infrastructure.dto.request.RefreshTokenRequest;
 import com.adbrassacoma.administrativo.infrastructure.dto.response.UsuarioResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -19,6 +21,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -58,6 +61,28 @@ public class AuthController {
         return ResponseEntity.ok(result);
     }
 
+    @PostMapping("/refresh")
+    @Operation(summary = "Renovar token", description = "Troca um refresh token válido por um novo par de tokens. O refresh token informado deixa de valer")
+    @SecurityRequirement(name = "")
+    public ResponseEntity<Map<String, Object>> renovar(@Valid @RequestBody RefreshTokenRequest request) {
+        AuthResponse response = authService.renovar(request);
+        Map<String, Object> result = new HashMap<>();
+        result.put("message", "Token renovado com sucesso!");
+        result.put("data", response);
+        return ResponseEntity.ok(result);
+    }
+
+    @PostMapping("/logout")
+    @Operation(summary = "Fazer logout", description = "Revoga o refresh token informado e o token de acesso atual")
+    @SecurityRequirement(name = "Bearer Authentication")
+    public ResponseEntity<Map<String, Object>> logout(@Valid @RequestBody RefreshTokenRequest request,
+            @RequestAttribute(name = TokenVerificado.ATRIBUTO_REQUISICAO, required = false) TokenVerificado token) {
+        authService.logout(request, token);
+        Map<String, Object> result = new HashMap<>();
+        result.put("message", "Logout realizado com sucesso!");
+        return ResponseEntity.ok(result);
+    }
+
     @GetMapping("/usuarios")
     @Operation(summary = "Listar todos os usuários", description = "Retorna uma lista com todos os usuários cadastrados")
     @SecurityRequirement(name = "Bearer Authentication")
@@ -1,19 +1,32 @@
 package com.adbrassacoma.administrativo.infrastructure.controller;
 
+import com.adbrassacoma.administrativo.domain.enums.AgrupamentoPeriodo;
 import com.adbrassacoma.administrativo.domain.enums.TipoFinanceiro;
+import com.adbrassacoma.administrativo.domain.service.ExercicioFinanceiroService;
+import com.adbrassacoma.administrativo.domain.service.FinanceiroResumoService;
 import com.adbrassacoma.administrativo.domain.service.FinanceiroService;
 import com.adbrassacoma.administrativo.infrastructure.dto.request.AtualizarFinanceiroRequest;
 import com.adbrassacoma.administrativo.infrastructure.dto.request.CadastroFinanceiroRequest;
+import com.adbrassacoma.administrativo.infrastructure.dto.request.LoteFinanceiroRequest;
+import com.adbrassacoma.administrativo.infrastructure.dto.response.ExercicioFinanceiroResponse;
 import com.adbrassacoma.administrativo.infrastructure.dto.response.FinanceiroResponse;
+import com.adbrassacoma.administrativo.infrastructure.dto.response.LoteFinanceiroResponse;
+import com.adbrassacoma.administrativo.infrastructure.dto.response.PaginaCursorResponse;
+import com.adbrassacoma.administrativo.infrastructure.dto.response.ResumoFinanceiroResponse;
+import com.adbrassacoma.administrativo.infrastructure.dto.response.SaldoFinanceiroResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -25,6 +38,8 @@ import java.util.Map;
 public class FinanceiroController {
     
     private final FinanceiroService financeiroService;
+    private final FinanceiroResumoService financeiroResumoService;
+    private final ExercicioFinanceiroService exercicioFinanceiroService;
 
     @PostMapping
     @Operation(summary = "Cadastrar novo registro financeiro", description = "Cria um novo registro financeiro no sistema")
@@ -37,14 +52,126 @@ public class FinanceiroController {
         return ResponseEntity.status(HttpStatus.CREATED).body(result);
     }
 
+    @PostMapping("/lote")
+    @Operation(summary = "Cadastrar lançamentos em lote", description = "Cadastra vários registros financeiros em uma única transação. Lançamentos com valores inválidos ou membro inexistente são rejeitados individualmente e listados no resultado")
+    @SecurityRequirement(name = "Bearer Authentication")
+    public ResponseEntity<Map<String, Object>> cadastrarLote(@Valid @RequestBody LoteFinanceiroRequest request) {
+        LoteFinanceiroResponse response = financeiroService.cadastrarLote(request);
+        Map<String, Object> result = new HashMap<>();
+        result.put("message", "Lote processado: " + response.cadastrados() + " registros cadastrados, "
+                + response.rejeitados() + " rejeitados");
+        result.put("data", response);
+        return ResponseEntity.ok(result);
+    }
+
     @GetMapping
-    @Operation(summary = "Listar todos os registros financeiros", description = "Retorna uma lista com todos os registros financeiros cadastrados")
+    @Operation(summary = "Listar registros financeiros", description = "Retorna o livro-caixa paginado por cursor, do registro mais recente para o mais antigo, com filtros opcionais de período, tipo e membro")
     @SecurityRequirement(name = "Bearer Authentication")
-    public ResponseEntity<Map<String, Object>> listarTodos() {
-        List<FinanceiroResponse> financeiros = financeiroService.listarTodos();
+    public ResponseEntity<Map<String, Object>> listarTodos(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer tamanho,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicio,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFim,
+            @RequestParam(required = false) TipoFinanceiro tipo,
+            @RequestParam(required = false) Long membroId,
+            @RequestParam(defaultValue = "false") boolean incluirTotal,
+            WebRequest webRequest) {
+        String etag = financeiroService.etagListagem();
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
+        PaginaCursorResponse<FinanceiroResponse> financeiros = financeiroService.listarPaginado(
+                cursor, tamanho, dataInicio, dataFim, tipo, membroId, incluirTotal);
         Map<String, Object> result = new HashMap<>();
         result.put("message", "Registros financeiros encontrados com sucesso!");
         result.put("data", financeiros);
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache().cachePrivate()).eTag(etag).body(result);
+    }
+
+    @GetMapping("/saldo")
+    @Operation(summary = "Saldo financeiro", description = "Retorna o saldo acumulado de todo o histórico, com entradas, saídas e quantidade de registros por tipo")
+    @SecurityRequirement(name = "Bearer Authentication")
+    public ResponseEntity<Map<String, Object>> saldo(WebRequest webRequest) {
+        String etag = financeiroService.etagListagem();
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
+        SaldoFinanceiroResponse saldo = financeiroResumoService.saldo();
+        Map<String, Object> result = new HashMap<>();
+        result.put("message", "Saldo financeiro calculado com sucesso!");
+        result.put("data", saldo);
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache().cachePrivate()).eTag(etag).body(result);
+    }
+
+    @GetMapping("/resumo")
+    @Operation(summary = "Resumo financeiro", description = "Retorna entradas, saídas, saldo e quantidade de registros no período, totalizados por tipo e agrupados por dia, mês ou ano")
+    @SecurityRequirement(name = "Bearer Authentication")
+    public ResponseEntity<Map<String, Object>> resumir(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicio,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFim,
+            @RequestParam(defaultValue = "MES") AgrupamentoPeriodo agrupamento,
+            WebRequest webRequest) {
+        String etag = financeiroService.etagListagem();
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
+        ResumoFinanceiroResponse resumo = financeiroResumoService.resumir(dataInicio, dataFim, agrupamento);
+        Map<String, Object> result = new HashMap<>();
+        result.put("message", "Resumo financeiro calculado com sucesso!");
+        result.put("data", resumo);
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache().cachePrivate()).eTag(etag).body(result);
+    }
+
+    @GetMapping("/exercicios")
+    @Operation(summary = "Listar exercícios financeiros", description = "Retorna os exercícios já fechados ou reabertos, com os saldos por tipo gravados no fechamento")
+    @SecurityRequirement(name = "Bearer Authentication")
+    public ResponseEntity<Map<String, Object>> listarExercicios() {
+        List<ExercicioFinanceiroResponse> exercicios = exercicioFinanceiroService.listar();
+        Map<String, Object> result = new HashMap<>();
+        result.put("message", "Exercícios financeiros encontrados com sucesso!");
+        result.put("data", exercicios);
+        return ResponseEntity.ok(result);
+    }
+
+    @PostMapping("/exercicios/{ano}/fechar")
+    @Operation(summary = "Fechar exercício financeiro", description = "Grava os saldos do ano por tipo, bloqueia novos lançamentos no ano e move seus registros para o arquivo")
+    @SecurityRequirement(name = "Bearer Authentication")
+    public ResponseEntity<Map<String, Object>> fecharExercicio(@PathVariable int ano) {
+        ExercicioFinanceiroResponse exercicio = exercicioFinanceiroService.fechar(ano);
+        Map<String, Object> result = new HashMap<>();
+        result.put("message", "Exercício financeiro fechado com sucesso!");
+        result.put("data", exercicio);
+        return ResponseEntity.ok(result);
+    }
+
+    @PostMapping("/exercicios/{ano}/reabrir")
+    @Operation(summary = "Reabrir exercício financeiro", description = "Devolve os registros arquivados do ano ao financeiro para correções e descarta os saldos do fechamento")
+    @SecurityRequirement(name = "Bearer Authentication")
+    public ResponseEntity<Map<String, Object>> reabrirExercicio(@PathVariable int ano) {
+        ExercicioFinanceiroResponse exercicio = exercicioFinanceiroService.reabrir(ano);
+        Map<String, Object> result = new HashMap<>();
+        result.put("message", "Exercício financeiro reaberto com sucesso!");
+        result.put("data", exercicio);
+        return ResponseEntity.ok(result);
+    }
+
+    @GetMapping("/arquivo/{ano}")
+    @Operation(summary = "Listar registros arquivados", description = "Retorna os registros de um exercício fechado, paginados por cursor, com filtros opcionais de tipo e membro")
+    @SecurityRequirement(name = "Bearer Authentication")
+    public ResponseEntity<Map<String, Object>> listarArquivados(
+            @PathVariable int ano,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer tamanho,
+            @RequestParam(required = false) TipoFinanceiro tipo,
+            @RequestParam(required = false) Long membroId) {
+        PaginaCursorResponse<FinanceiroResponse> financeiros = financeiroService.listarArquivados(
+                ano, cursor, tamanho, tipo, membroId);
+        Map<String, Object> result = new HashMap<>();
+        result.put("message", "Registros arquivados encontrados com sucesso!");
+        result.put("data", financeiros);
         return ResponseEntity.ok(result);
     }
 
@@ -60,10 +187,17 @@ public class FinanceiroController {
     }
 
     @GetMapping("/buscar/tipo/{tipo}")
-    @Operation(summary = "Buscar registros financeiros por tipo", description = "Busca registros financeiros pelo tipo informado")
+    @Operation(summary = "Buscar registros financeiros por tipo", description = "Busca registros financeiros pelo tipo informado, paginados por cursor e com filtro opcional de período")
     @SecurityRequirement(name = "Bearer Authentication")
-    public ResponseEntity<Map<String, Object>> buscarPorTipo(@PathVariable TipoFinanceiro tipo) {
-        List<FinanceiroResponse> financeiros = financeiroService.buscarPorTipo(tipo);
+    public ResponseEntity<Map<String, Object>> buscarPorTipo(
+            @PathVariable TipoFinanceiro tipo,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer tamanho,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicio,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFim,
+            @RequestParam(defaultValue = "false") boolean incluirTotal) {
+        PaginaCursorResponse<FinanceiroResponse> financeiros = financeiroService.listarPaginado(
+                cursor, tamanho, dataInicio, dataFim, tipo, null, incluirTotal);
         Map<String, Object> result = new HashMap<>();
         result.put("message", "Registros financeiros encontrados com sucesso!");
         result.put("data", financeiros);
@@ -71,10 +205,18 @@ public class FinanceiroController {
     }
 
     @GetMapping("/buscar/membro/{membroId}")
-    @Operation(summary = "Buscar registros financeiros por membro", description = "Busca todos os registros financeiros de um membro específico")
+    @Operation(summary = "Buscar registros financeiros por membro", description = "Busca os registros financeiros de um membro específico, paginados por cursor e com filtros opcionais de período e tipo")
     @SecurityRequirement(name = "Bearer Authentication")
-    public ResponseEntity<Map<String, Object>> buscarPorMembro(@PathVariable Long membroId) {
-        List<FinanceiroResponse> financeiros = financeiroService.buscarPorMembro(membroId);
+    public ResponseEntity<Map<String, Object>> buscarPorMembro(
+            @PathVariable Long membroId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer tamanho,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicio,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFim,
+            @RequestParam(required = false) TipoFinanceiro tipo,
+            @RequestParam(defaultValue = "false") boolean incluirTotal) {
+        PaginaCursorResponse<FinanceiroResponse> financeiros = financeiroService.buscarPorMembro(
+                membroId, cursor, tamanho, dataInicio, dataFim, tipo, incluirTotal);
         Map<String, Object> result = new HashMap<>();
         result.put("message", "Registros financeiros encontrados com sucesso!");
         result.put("data", financeiros);
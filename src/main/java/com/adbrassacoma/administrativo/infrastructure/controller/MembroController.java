@@ -1,18 +1,29 @@
 package com.adbrassacoma.administrativo.infrastructure.controller;
 
+import com.adbrassacoma.administrativo.domain.enums.FormatoExportacao;
+import com.adbrassacoma.administrativo.domain.service.MembroExportacaoService;
+import com.adbrassacoma.administrativo.domain.service.MembroImportacaoService;
 import com.adbrassacoma.administrativo.domain.service.MembroService;
 import com.adbrassacoma.administrativo.infrastructure.dto.request.AtualizarMembroRequest;
 import com.adbrassacoma.administrativo.infrastructure.dto.request.CadastroMembroRequest;
+import com.adbrassacoma.administrativo.infrastructure.dto.response.ImportacaoMembrosResponse;
 import com.adbrassacoma.administrativo.infrastructure.dto.response.MembroResponse;
+import com.adbrassacoma.administrativo.infrastructure.dto.response.PaginaCursorResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -24,6 +35,8 @@ import java.util.Map;
 public class MembroController {
     
     private final MembroService membroService;
+    private final MembroExportacaoService membroExportacaoService;
+    private final MembroImportacaoService membroImportacaoService;
 
     @PostMapping
     @Operation(summary = "Cadastrar novo membro", description = "Cria um novo membro no sistema")
@@ -37,29 +50,67 @@ public class MembroController {
     }
 
     @GetMapping
-    @Operation(summary = "Listar todos os membros", description = "Retorna uma lista com todos os membros cadastrados")
+    @Operation(summary = "Listar membros", description = "Retorna os membros paginados por cursor. Use o proximoCursor da resposta para obter a próxima página")
     @SecurityRequirement(name = "Bearer Authentication")
-    public ResponseEntity<Map<String, Object>> listarTodos() {
-        List<MembroResponse> membros = membroService.listarTodos();
+    public ResponseEntity<Map<String, Object>> listarTodos(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer tamanho,
+            @RequestParam(defaultValue = "id") String ordenarPor,
+            @RequestParam(required = false) String cargo,
+            @RequestParam(required = false) String cidade,
+            @RequestParam(defaultValue = "false") boolean incluirTotal) {
+        PaginaCursorResponse<MembroResponse> membros = membroService.listarPaginado(
+                cursor, tamanho, ordenarPor, cargo, cidade, incluirTotal);
         Map<String, Object> result = new HashMap<>();
         result.put("message", "Membros encontrados com sucesso!");
         result.put("data", membros);
         return ResponseEntity.ok(result);
     }
 
+    @GetMapping("/exportar")
+    @Operation(summary = "Exportar membros", description = "Exporta todos os membros com endereço em NDJSON (uma linha JSON por membro) ou CSV, escrevendo os registros à medida que são lidos")
+    @SecurityRequirement(name = "Bearer Authentication")
+    public ResponseEntity<StreamingResponseBody> exportar(@RequestParam(defaultValue = "NDJSON") FormatoExportacao formato) {
+        StreamingResponseBody corpo = saida -> membroExportacaoService.exportar(formato, saida);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(formato.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"membros." + formato.getExtensao() + "\"")
+                .body(corpo);
+    }
+
+    @PostMapping("/importar")
+    @Operation(summary = "Importar membros", description = "Cadastra membros em lote a partir de CSV (mesmas colunas da exportação, separadas por vírgula ou ponto e vírgula) ou NDJSON enviados no corpo. Linhas inválidas ou duplicadas são rejeitadas individualmente e listadas no relatório")
+    @SecurityRequirement(name = "Bearer Authentication")
+    public ResponseEntity<Map<String, Object>> importar(
+            @RequestParam(defaultValue = "CSV") FormatoExportacao formato,
+            InputStream corpo) {
+        ImportacaoMembrosResponse response = membroImportacaoService.importar(formato, corpo);
+        Map<String, Object> result = new HashMap<>();
+        result.put("message", "Importação concluída: " + response.importados() + " membros importados, "
+                + response.rejeitados() + " linhas rejeitadas");
+        result.put("data", response);
+        return ResponseEntity.ok(result);
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Buscar membro por ID", description = "Busca um membro pelo seu ID")
     @SecurityRequirement(name = "Bearer Authentication")
-    public ResponseEntity<Map<String, Object>> buscarPorId(@PathVariable Long id) {
+    public ResponseEntity<Map<String, Object>> buscarPorId(@PathVariable Long id, WebRequest webRequest) {
+        // A versão é lida antes do corpo: numa corrida com uma atualização o ETag fica mais antigo, nunca mais novo
+        String etag = membroService.etag(id);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
         MembroResponse membro = membroService.buscarPorId(id);
         Map<String, Object> result = new HashMap<>();
         result.put("message", "Membro encontrado com sucesso!");
         result.put("data", membro);
-        return ResponseEntity.ok(result);
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache().cachePrivate()).eTag(etag).body(result);
     }
 
     @GetMapping("/buscar/nome/{nome}")
-    @Operation(summary = "Buscar membros por nome", description = "Busca membros cujo nome contém o termo informado")
+    @Operation(summary = "Buscar membros por nome", description = "Busca membros cujo nome contém o termo informado, ignorando acentos e maiúsculas, ordenados por relevância")
     @SecurityRequirement(name = "Bearer Authentication")
     public ResponseEntity<Map<String, Object>> buscarPorNome(@PathVariable String nome) {
         List<MembroResponse> membros = membroService.buscarPorNome(nome);
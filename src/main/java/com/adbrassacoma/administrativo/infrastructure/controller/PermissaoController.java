@@ -1,6 +1,7 @@
 package com.adbrassacoma.administrativo.infrastructure.controller;
 
 import com.adbrassacoma.administrativo.domain.service.PermissaoService;
+import com.adbrassacoma.administrativo.infrastructure.config.TokenVerificado;
 import com.adbrassacoma.administrativo.infrastructure.dto.request.AtualizarPermissoesRequest;
 import com.adbrassacoma.administrativo.infrastructure.dto.response.PermissaoUsuarioResponse;
 import com.adbrassacoma.administrativo.infrastructure.dto.response.TelaPermissaoResponse;
@@ -9,10 +10,12 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.HashMap;
 import java.util.List;
@@ -31,23 +34,29 @@ public class PermissaoController {
     @Operation(summary = "Listar todas as telas disponíveis", 
                description = "Retorna uma lista com todas as telas do sistema que podem ter permissões gerenciadas")
     @SecurityRequirement(name = "Bearer Authentication")
-    public ResponseEntity<Map<String, Object>> listarTelas() {
+    public ResponseEntity<Map<String, Object>> listarTelas(WebRequest webRequest) {
+        String etag = permissaoService.etagTelas();
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
         List<TelaPermissaoResponse> telas = permissaoService.listarTodasTelas();
         Map<String, Object> result = new HashMap<>();
         result.put("message", "Telas encontradas com sucesso!");
         result.put("data", telas);
-        return ResponseEntity.ok(result);
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache().cachePrivate()).eTag(etag).body(result);
     }
 
     @GetMapping("/minhas")
     @Operation(summary = "Buscar minhas permissões", 
                description = "Retorna as IDs das telas que o usuário autenticado tem permissão para acessar. Qualquer usuário autenticado pode buscar suas próprias permissões.")
     @SecurityRequirement(name = "Bearer Authentication")
-    public ResponseEntity<Map<String, Object>> buscarMinhasPermissoes() {
+    public ResponseEntity<Map<String, Object>> buscarMinhasPermissoes(
+            @RequestAttribute(name = TokenVerificado.ATRIBUTO_REQUISICAO, required = false) TokenVerificado token) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         String email = authentication.getName();
         
-        List<String> permissoes = permissaoService.buscarMinhasPermissoes(email);
+        List<String> permissoes = permissaoService.buscarMinhasPermissoes(email, token);
         Map<String, Object> result = new HashMap<>();
         result.put("message", "Permissões encontradas com sucesso!");
         result.put("data", permissoes);
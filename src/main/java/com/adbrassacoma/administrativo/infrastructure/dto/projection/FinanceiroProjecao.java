@@ -0,0 +1,26 @@
+package com.adbrassacoma.administrativo.infrastructure.dto.projection;
+
+import com.adbrassacoma.administrativo.domain.enums.TipoFinanceiro;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Linha plana de registro financeiro com os dados do membro associado (LEFT JOIN), sem entidade gerenciada.
+ */
+public record FinanceiroProjecao(
+	Long id,
+	BigDecimal entrada,
+	BigDecimal saida,
+	TipoFinanceiro tipo,
+	String observacao,
+	LocalDateTime dataRegistro,
+	Long membroId,
+	String membroNome,
+	String membroCpf
+) {
+	
+	public static final String SELECT = "SELECT new com.adbrassacoma.administrativo.infrastructure.dto.projection.FinanceiroProjecao("
+		+ "f.id, f.entrada, f.saida, f.tipo, f.observacao, f.dataRegistro, m.id, m.nome, m.cpf) "
+		+ "FROM Financeiro f LEFT JOIN f.membro m ";
+}
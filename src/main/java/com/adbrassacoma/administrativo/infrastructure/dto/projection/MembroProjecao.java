@@ -0,0 +1,27 @@
+package com.adbrassacoma.administrativo.infrastructure.dto.projection;
+
+/**
+ * Linha plana de membro com endereço, preenchida por expressão construtora JPQL (sem entidade gerenciada).
+ */
+public record MembroProjecao(
+	Long id,
+	String nome,
+	String rg,
+	String cpf,
+	String ri,
+	String cargo,
+	Long enderecoId,
+	String rua,
+	String numero,
+	String cep,
+	String bairro,
+	String cidade,
+	String estado,
+	String complemento
+) {
+	
+	public static final String SELECT = "SELECT new com.adbrassacoma.administrativo.infrastructure.dto.projection.MembroProjecao("
+		+ "m.id, m.nome, m.rg, m.cpf, m.ri, m.cargo, "
+		+ "e.id, e.rua, e.numero, e.cep, e.bairro, e.cidade, e.estado, e.complemento) "
+		+ "FROM Membros m JOIN m.endereco e ";
+}
@@ -0,0 +1,19 @@
+package com.adbrassacoma.administrativo.infrastructure.dto.projection;
+
+import com.adbrassacoma.administrativo.domain.enums.TipoFinanceiro;
+
+import java.math.BigDecimal;
+
+/**
+ * Totais de um grupo (período x tipo) calculados pelo banco. Componentes do período que não fazem parte
+ * do agrupamento chegam como 1 (ex.: dia e mês no agrupamento por ano).
+ */
+public record TotalFinanceiroProjecao(
+	Integer ano,
+	Integer mes,
+	Integer dia,
+	TipoFinanceiro tipo,
+	BigDecimal entrada,
+	BigDecimal saida,
+	Long quantidade
+) {}
@@ -0,0 +1,13 @@
+package com.adbrassacoma.administrativo.infrastructure.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record LoteFinanceiroRequest(
+	@NotEmpty(message = "Informe ao menos um lançamento")
+	@Size(max = 500, message = "O lote deve ter no máximo 500 lançamentos")
+	List<@Valid CadastroFinanceiroRequest> lancamentos
+) {}
@@ -0,0 +1,9 @@
+package com.adbrassacoma.administrativo.infrastructure.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+
+public record RefreshTokenRequest(
+	@NotBlank(message = "Refresh token é obrigatório")
+	String refreshToken
+) {}
+
@@ -5,6 +5,8 @@ import com.adbrassacoma.administrativo.domain.enums.Role;
 public record AuthResponse(
 	String token,
 	String tipo,
+	Long expiraEmSegundos,
+	String refreshToken,
 	Long usuarioId,
 	String nome,
 	String email,
@@ -0,0 +1,9 @@
+package com.adbrassacoma.administrativo.infrastructure.dto.response;
+
+import java.util.List;
+
+public record ErroImportacaoResponse(
+	int linha,
+	String cpf,
+	List<String> mensagens
+) {}
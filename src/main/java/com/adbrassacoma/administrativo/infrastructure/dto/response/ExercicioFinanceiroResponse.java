@@ -0,0 +1,15 @@
+package com.adbrassacoma.administrativo.infrastructure.dto.response;
+
+import com.adbrassacoma.administrativo.domain.enums.TipoFinanceiro;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+public record ExercicioFinanceiroResponse(
+	Integer ano,
+	boolean fechado,
+	LocalDateTime dataFechamento,
+	LocalDateTime dataReabertura,
+	Long quantidadeArquivada,
+	Map<TipoFinanceiro, TotaisFinanceiroResponse> saldos
+) {}
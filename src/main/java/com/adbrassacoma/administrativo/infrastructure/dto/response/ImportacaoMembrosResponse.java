@@ -0,0 +1,10 @@
+package com.adbrassacoma.administrativo.infrastructure.dto.response;
+
+import java.util.List;
+
+public record ImportacaoMembrosResponse(
+	int totalLinhas,
+	int importados,
+	int rejeitados,
+	List<ErroImportacaoResponse> erros
+) {}
@@ -0,0 +1,10 @@
+package com.adbrassacoma.administrativo.infrastructure.dto.response;
+
+import java.util.List;
+
+public record LoteFinanceiroResponse(
+	int total,
+	int cadastrados,
+	int rejeitados,
+	List<ResultadoLancamentoResponse> resultados
+) {}
@@ -0,0 +1,11 @@
+package com.adbrassacoma.administrativo.infrastructure.dto.response;
+
+import java.util.List;
+
+public record PaginaCursorResponse<T>(
+	List<T> itens,
+	int tamanho,
+	boolean possuiMais,
+	String proximoCursor,
+	Long total
+) {}
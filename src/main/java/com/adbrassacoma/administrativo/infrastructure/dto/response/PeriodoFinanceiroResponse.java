@@ -0,0 +1,12 @@
+package com.adbrassacoma.administrativo.infrastructure.dto.response;
+
+import com.adbrassacoma.administrativo.domain.enums.TipoFinanceiro;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+public record PeriodoFinanceiroResponse(
+	LocalDate inicio,
+	TotaisFinanceiroResponse totais,
+	Map<TipoFinanceiro, TotaisFinanceiroResponse> porTipo
+) {}
@@ -0,0 +1,9 @@
+package com.adbrassacoma.administrativo.infrastructure.dto.response;
+
+import java.util.List;
+
+public record ResultadoLancamentoResponse(
+	int indice,
+	Long id,
+	List<String> mensagens
+) {}
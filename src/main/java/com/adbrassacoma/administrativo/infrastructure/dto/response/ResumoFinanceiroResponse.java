@@ -0,0 +1,17 @@
+package com.adbrassacoma.administrativo.infrastructure.dto.response;
+
+import com.adbrassacoma.administrativo.domain.enums.AgrupamentoPeriodo;
+import com.adbrassacoma.administrativo.domain.enums.TipoFinanceiro;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+public record ResumoFinanceiroResponse(
+	LocalDate dataInicio,
+	LocalDate dataFim,
+	AgrupamentoPeriodo agrupamento,
+	TotaisFinanceiroResponse totais,
+	Map<TipoFinanceiro, TotaisFinanceiroResponse> porTipo,
+	List<PeriodoFinanceiroResponse> periodos
+) {}
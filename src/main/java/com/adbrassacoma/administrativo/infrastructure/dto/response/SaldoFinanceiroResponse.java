@@ -0,0 +1,10 @@
+package com.adbrassacoma.administrativo.infrastructure.dto.response;
+
+import com.adbrassacoma.administrativo.domain.enums.TipoFinanceiro;
+
+import java.util.Map;
+
+public record SaldoFinanceiroResponse(
+	TotaisFinanceiroResponse totais,
+	Map<TipoFinanceiro, TotaisFinanceiroResponse> porTipo
+) {}
@@ -0,0 +1,10 @@
+package com.adbrassacoma.administrativo.infrastructure.dto.response;
+
+import java.math.BigDecimal;
+
+public record TotaisFinanceiroResponse(
+	BigDecimal entrada,
+	BigDecimal saida,
+	BigDecimal saldo,
+	long quantidade
+) {}
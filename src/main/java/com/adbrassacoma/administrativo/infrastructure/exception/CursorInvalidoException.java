@@ -0,0 +1,8 @@
+package com.adbrassacoma.administrativo.infrastructure.exception;
+
+public class CursorInvalidoException extends RuntimeException {
+	
+	public CursorInvalidoException(String message) {
+		super(message);
+	}
+}
@@ -0,0 +1,8 @@
+package com.adbrassacoma.administrativo.infrastructure.exception;
+
+public class ExercicioFechadoException extends RuntimeException {
+	
+	public ExercicioFechadoException(String message) {
+		super(message);
+	}
+}
@@ -0,0 +1,8 @@
+package com.adbrassacoma.administrativo.infrastructure.exception;
+
+public class ImportacaoInvalidaException extends RuntimeException {
+	
+	public ImportacaoInvalidaException(String message) {
+		super(message);
+	}
+}
@@ -0,0 +1,8 @@
+package com.adbrassacoma.administrativo.infrastructure.exception;
+
+public class PeriodoInvalidoException extends RuntimeException {
+	
+	public PeriodoInvalidoException(String message) {
+		super(message);
+	}
+}
@@ -0,0 +1,15 @@
+package com.adbrassacoma.administrativo.infrastructure.exception;
+
+public class ServicoIndisponivelException extends RuntimeException {
+
+	private final long retryAfterSeconds;
+
+	public ServicoIndisponivelException(String message, long retryAfterSeconds) {
+		super(message);
+		this.retryAfterSeconds = retryAfterSeconds;
+	}
+
+	public long getRetryAfterSeconds() {
+		return retryAfterSeconds;
+	}
+}
@@ -0,0 +1,117 @@
+package com.adbrassacoma.administrativo.infrastructure.repository;
+
+import com.adbrassacoma.administrativo.domain.enums.AgrupamentoPeriodo;
+import com.adbrassacoma.administrativo.domain.enums.TipoFinanceiro;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Montagem das consultas do livro-caixa, compartilhada entre a tabela financeiro e o arquivo de
+ * exercícios fechados. Só entram na consulta os predicados com valor, para que o banco use os índices
+ * (x, data_registro) de cada filtro.
+ */
+final class ConsultaFinanceiro {
+
+    static final String PROJECAO_TOTAIS = "com.adbrassacoma.administrativo.infrastructure.dto.projection.TotalFinanceiroProjecao";
+
+    private final String alias;
+    private final String caminhoMembroId;
+    private final StringBuilder jpql;
+    private final Map<String, Object> parametros = new HashMap<>();
+
+    private ConsultaFinanceiro(String alias, String caminhoMembroId, String inicio) {
+        this.alias = alias;
+        this.caminhoMembroId = caminhoMembroId;
+        this.jpql = new StringBuilder(inicio).append("WHERE 1 = 1");
+    }
+
+    static ConsultaFinanceiro financeiro(String select) {
+        return new ConsultaFinanceiro("f", "f.membro.id", select);
+    }
+
+    static ConsultaFinanceiro arquivo(String select) {
+        return new ConsultaFinanceiro("a", "a.membroId", select);
+    }
+
+    /**
+     * SELECT dos totais por período e tipo; componentes fora do agrupamento saem como 1.
+     */
+    static String selectTotais(String alias, String entidade, AgrupamentoPeriodo agrupamento) {
+        return "SELECT new " + PROJECAO_TOTAIS + "(" + String.join(", ", colunasPeriodo(alias, agrupamento))
+                + ", " + alias + ".tipo, SUM(" + alias + ".entrada), SUM(" + alias + ".saida), COUNT(" + alias + ")) "
+                + "FROM " + entidade + " " + alias + " ";
+    }
+
+    ConsultaFinanceiro exercicio(Integer ano) {
+        if (ano != null) {
+            jpql.append(" AND ").append(alias).append(".exercicio = :ano");
+            parametros.put("ano", ano);
+        }
+        return this;
+    }
+
+    // Desempate por id: registros com o mesmo instante não pulam nem repetem entre páginas
+    ConsultaFinanceiro aposPosicao(LocalDateTime aposData, Long aposId) {
+        if (aposData != null && aposId != null) {
+            jpql.append(" AND (").append(alias).append(".dataRegistro < :aposData OR (")
+                    .append(alias).append(".dataRegistro = :aposData AND ").append(alias).append(".id < :aposId))");
+            parametros.put("aposData", aposData);
+            parametros.put("aposId", aposId);
+        }
+        return this;
+    }
+
+    ConsultaFinanceiro filtros(LocalDateTime inicio, LocalDateTime fim, TipoFinanceiro tipo, Long membroId) {
+        if (tipo != null) {
+            jpql.append(" AND ").append(alias).append(".tipo = :tipo");
+            parametros.put("tipo", tipo);
+        }
+        if (membroId != null) {
+            jpql.append(" AND ").append(caminhoMembroId).append(" = :membroId");
+            parametros.put("membroId", membroId);
+        }
+        if (inicio != null) {
+            jpql.append(" AND ").append(alias).append(".dataRegistro >= :inicio");
+            parametros.put("inicio", inicio);
+        }
+        if (fim != null) {
+            jpql.append(" AND ").append(alias).append(".dataRegistro < :fim");
+            parametros.put("fim", fim);
+        }
+        return this;
+    }
+
+    ConsultaFinanceiro ordenarMaisRecentes() {
+        jpql.append(" ORDER BY ").append(alias).append(".dataRegistro DESC, ").append(alias).append(".id DESC");
+        return this;
+    }
+
+    ConsultaFinanceiro agruparPor(AgrupamentoPeriodo agrupamento) {
+        List<String> grupo = switch (agrupamento) {
+            case DIA -> colunasPeriodo(alias, agrupamento);
+            case MES -> colunasPeriodo(alias, agrupamento).subList(0, 2);
+            case ANO -> colunasPeriodo(alias, agrupamento).subList(0, 1);
+        };
+        jpql.append(" GROUP BY ").append(String.join(", ", grupo)).append(", ").append(alias).append(".tipo");
+        return this;
+    }
+
+    <T> TypedQuery<T> criar(EntityManager entityManager, Class<T> tipo) {
+        TypedQuery<T> query = entityManager.createQuery(jpql.toString(), tipo);
+        parametros.forEach(query::setParameter);
+        return query;
+    }
+
+    private static List<String> colunasPeriodo(String alias, AgrupamentoPeriodo agrupamento) {
+        String data = alias + ".dataRegistro";
+        return List.of(
+                "YEAR(" + data + ")",
+                agrupamento == AgrupamentoPeriodo.ANO ? "1" : "MONTH(" + data + ")",
+                agrupamento == AgrupamentoPeriodo.DIA ? "DAY(" + data + ")" : "1");
+    }
+}
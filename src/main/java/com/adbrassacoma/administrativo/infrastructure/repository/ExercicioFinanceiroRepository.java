@@ -0,0 +1,18 @@
+package com.adbrassacoma.administrativo.infrastructure.repository;
+
+import com.adbrassacoma.administrativo.domain.model.ExercicioFinanceiro;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ExercicioFinanceiroRepository extends JpaRepository<ExercicioFinanceiro, Integer> {
+
+    @Query("SELECT COUNT(e) > 0 FROM ExercicioFinanceiro e WHERE e.ano = :ano AND e.fechado = true")
+    boolean estaFechado(@Param("ano") Integer ano);
+
+    List<ExercicioFinanceiro> findAllByOrderByAnoDesc();
+}
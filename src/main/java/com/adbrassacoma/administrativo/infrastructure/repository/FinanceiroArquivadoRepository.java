@@ -0,0 +1,38 @@
+package com.adbrassacoma.administrativo.infrastructure.repository;
+
+import com.adbrassacoma.administrativo.domain.model.FinanceiroArquivado;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Registros de exercícios fechados. A movimentação entre financeiro e financeiro_arquivo é feita
+ * com INSERT ... SELECT seguido de DELETE, sem carregar os registros na aplicação.
+ */
+@Repository
+public interface FinanceiroArquivadoRepository extends JpaRepository<FinanceiroArquivado, Long>, FinanceiroArquivadoRepositoryCustom {
+
+    @Modifying
+    @Query(value = "INSERT INTO financeiro_arquivo (id, exercicio, entrada, saida, tipo, observacao, data_registro, "
+            + "membro_id, versao, data_atualizacao, data_arquivamento) "
+            + "SELECT f.id, :ano, f.entrada, f.saida, f.tipo, f.observacao, f.data_registro, f.membro_id, f.versao, "
+            + "f.data_atualizacao, CURRENT_TIMESTAMP FROM financeiro f "
+            + "WHERE f.data_registro >= :inicio AND f.data_registro < :fim", nativeQuery = true)
+    int arquivar(@Param("ano") Integer ano, @Param("inicio") LocalDateTime inicio, @Param("fim") LocalDateTime fim);
+
+    // Membros excluídos após o arquivamento voltam sem associação
+    @Modifying
+    @Query(value = "INSERT INTO financeiro (id, entrada, saida, tipo, observacao, data_registro, membro_id, versao, data_atualizacao) "
+            + "SELECT a.id, a.entrada, a.saida, a.tipo, a.observacao, a.data_registro, "
+            + "(SELECT m.id FROM membros m WHERE m.id = a.membro_id), a.versao, a.data_atualizacao "
+            + "FROM financeiro_arquivo a WHERE a.exercicio = :ano", nativeQuery = true)
+    int restaurar(@Param("ano") Integer ano);
+
+    @Modifying
+    @Query("DELETE FROM FinanceiroArquivado a WHERE a.exercicio = :ano")
+    int excluirPorExercicio(@Param("ano") Integer ano);
+}
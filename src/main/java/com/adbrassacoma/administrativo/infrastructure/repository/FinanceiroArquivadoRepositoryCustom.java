@@ -0,0 +1,21 @@
+package com.adbrassacoma.administrativo.infrastructure.repository;
+
+import com.adbrassacoma.administrativo.domain.enums.AgrupamentoPeriodo;
+import com.adbrassacoma.administrativo.domain.enums.TipoFinanceiro;
+import com.adbrassacoma.administrativo.infrastructure.dto.projection.FinanceiroProjecao;
+import com.adbrassacoma.administrativo.infrastructure.dto.projection.TotalFinanceiroProjecao;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Consultas do arquivo de exercícios fechados, com os mesmos filtros e paginação do livro-caixa
+ * (ver {@link FinanceiroRepositoryCustom}).
+ */
+public interface FinanceiroArquivadoRepositoryCustom {
+
+    List<FinanceiroProjecao> buscarPagina(Integer ano, LocalDateTime aposData, Long aposId, TipoFinanceiro tipo,
+            Long membroId, int limite);
+
+    List<TotalFinanceiroProjecao> totalizar(LocalDateTime inicio, LocalDateTime fim, AgrupamentoPeriodo agrupamento);
+}
@@ -0,0 +1,43 @@
+package com.adbrassacoma.administrativo.infrastructure.repository;
+
+import com.adbrassacoma.administrativo.domain.enums.AgrupamentoPeriodo;
+import com.adbrassacoma.administrativo.domain.enums.TipoFinanceiro;
+import com.adbrassacoma.administrativo.infrastructure.dto.projection.FinanceiroProjecao;
+import com.adbrassacoma.administrativo.infrastructure.dto.projection.TotalFinanceiroProjecao;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+class FinanceiroArquivadoRepositoryImpl implements FinanceiroArquivadoRepositoryCustom {
+
+    private static final String SELECT = "SELECT new com.adbrassacoma.administrativo.infrastructure.dto.projection.FinanceiroProjecao("
+            + "a.id, a.entrada, a.saida, a.tipo, a.observacao, a.dataRegistro, m.id, m.nome, m.cpf) "
+            + "FROM FinanceiroArquivado a LEFT JOIN Membros m ON m.id = a.membroId ";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<FinanceiroProjecao> buscarPagina(Integer ano, LocalDateTime aposData, Long aposId, TipoFinanceiro tipo,
+            Long membroId, int limite) {
+        return ConsultaFinanceiro.arquivo(SELECT)
+                .exercicio(ano)
+                .aposPosicao(aposData, aposId)
+                .filtros(null, null, tipo, membroId)
+                .ordenarMaisRecentes()
+                .criar(entityManager, FinanceiroProjecao.class)
+                .setMaxResults(limite)
+                .getResultList();
+    }
+
+    @Override
+    public List<TotalFinanceiroProjecao> totalizar(LocalDateTime inicio, LocalDateTime fim, AgrupamentoPeriodo agrupamento) {
+        return ConsultaFinanceiro.arquivo(ConsultaFinanceiro.selectTotais("a", "FinanceiroArquivado", agrupamento))
+                .filtros(inicio, fim, null, null)
+                .agruparPor(agrupamento)
+                .criar(entityManager, TotalFinanceiroProjecao.class)
+                .getResultList();
+    }
+}
@@ -1,19 +1,27 @@
 package com.adbrassacoma.administrativo.infrastructure.repository;
 
-import com.adbrassacoma.administrativo.domain.enums.TipoFinanceiro;
 import com.adbrassacoma.administrativo.domain.model.Financeiro;
-import com.adbrassacoma.administrativo.domain.model.Membros;
+import com.adbrassacoma.administrativo.infrastructure.dto.projection.FinanceiroProjecao;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.util.List;
+import java.time.LocalDateTime;
+import java.util.Optional;
 
+/**
+ * As consultas retornam projeções com o membro obtido por LEFT JOIN na mesma consulta,
+ * evitando um SELECT adicional por registro para carregar a associação LAZY.
+ */
 @Repository
-public interface FinanceiroRepository extends JpaRepository<Financeiro, Long> {
-    
-    List<Financeiro> findByTipo(TipoFinanceiro tipo);
-    
-    List<Financeiro> findByMembro(Membros membro);
-    
-    List<Financeiro> findByMembroId(Long membroId);
+public interface FinanceiroRepository extends JpaRepository<Financeiro, Long>, FinanceiroRepositoryCustom {
+
+    @Query(FinanceiroProjecao.SELECT + "WHERE f.id = :id")
+    Optional<FinanceiroProjecao> buscarPorId(@Param("id") Long id);
+
+    @Modifying
+    @Query("DELETE FROM Financeiro f WHERE f.dataRegistro >= :inicio AND f.dataRegistro < :fim")
+    int excluirPeriodo(@Param("inicio") LocalDateTime inicio, @Param("fim") LocalDateTime fim);
 }
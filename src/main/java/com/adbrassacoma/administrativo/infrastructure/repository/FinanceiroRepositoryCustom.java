@@ -0,0 +1,28 @@
+package com.adbrassacoma.administrativo.infrastructure.repository;
+
+import com.adbrassacoma.administrativo.domain.enums.AgrupamentoPeriodo;
+import com.adbrassacoma.administrativo.domain.enums.TipoFinanceiro;
+import com.adbrassacoma.administrativo.infrastructure.dto.projection.FinanceiroProjecao;
+import com.adbrassacoma.administrativo.infrastructure.dto.projection.TotalFinanceiroProjecao;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Consultas do livro-caixa paginadas por keyset, do registro mais recente para o mais antigo.
+ * O período é [inicio, fim) sobre dataRegistro; tipo, membro e limites do período são opcionais.
+ * aposData/aposId são a chave do último item da página anterior; nulos indicam a primeira página.
+ */
+public interface FinanceiroRepositoryCustom {
+
+    List<FinanceiroProjecao> buscarPagina(LocalDateTime aposData, Long aposId, LocalDateTime inicio, LocalDateTime fim,
+            TipoFinanceiro tipo, Long membroId, int limite);
+
+    long contar(LocalDateTime inicio, LocalDateTime fim, TipoFinanceiro tipo, Long membroId);
+
+    /**
+     * Soma entrada/saída e conta os registros de [inicio, fim) agrupando por período e tipo em um único GROUP BY.
+     * Limites nulos deixam o período aberto.
+     */
+    List<TotalFinanceiroProjecao> totalizar(LocalDateTime inicio, LocalDateTime fim, AgrupamentoPeriodo agrupamento);
+}
@@ -0,0 +1,46 @@
+package com.adbrassacoma.administrativo.infrastructure.repository;
+
+import com.adbrassacoma.administrativo.domain.enums.AgrupamentoPeriodo;
+import com.adbrassacoma.administrativo.domain.enums.TipoFinanceiro;
+import com.adbrassacoma.administrativo.infrastructure.dto.projection.FinanceiroProjecao;
+import com.adbrassacoma.administrativo.infrastructure.dto.projection.TotalFinanceiroProjecao;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+class FinanceiroRepositoryImpl implements FinanceiroRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<FinanceiroProjecao> buscarPagina(LocalDateTime aposData, Long aposId, LocalDateTime inicio,
+            LocalDateTime fim, TipoFinanceiro tipo, Long membroId, int limite) {
+        return ConsultaFinanceiro.financeiro(FinanceiroProjecao.SELECT)
+                .aposPosicao(aposData, aposId)
+                .filtros(inicio, fim, tipo, membroId)
+                .ordenarMaisRecentes()
+                .criar(entityManager, FinanceiroProjecao.class)
+                .setMaxResults(limite)
+                .getResultList();
+    }
+
+    @Override
+    public long contar(LocalDateTime inicio, LocalDateTime fim, TipoFinanceiro tipo, Long membroId) {
+        return ConsultaFinanceiro.financeiro("SELECT COUNT(f) FROM Financeiro f ")
+                .filtros(inicio, fim, tipo, membroId)
+                .criar(entityManager, Long.class)
+                .getSingleResult();
+    }
+
+    @Override
+    public List<TotalFinanceiroProjecao> totalizar(LocalDateTime inicio, LocalDateTime fim, AgrupamentoPeriodo agrupamento) {
+        return ConsultaFinanceiro.financeiro(ConsultaFinanceiro.selectTotais("f", "Financeiro", agrupamento))
+                .filtros(inicio, fim, null, null)
+                .agruparPor(agrupamento)
+                .criar(entityManager, TotalFinanceiroProjecao.class)
+                .getResultList();
+    }
+}
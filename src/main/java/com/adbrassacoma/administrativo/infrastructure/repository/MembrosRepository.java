@@ -1,21 +1,87 @@
 package com.adbrassacoma.administrativo.infrastructure.repository;
 
 import com.adbrassacoma.administrativo.domain.model.Membros;
+import com.adbrassacoma.administrativo.infrastructure.dto.projection.MembroProjecao;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.Optional;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface MembrosRepository extends JpaRepository<Membros, Long> {
+public interface MembrosRepository extends JpaRepository<Membros, Long>, MembrosRepositoryCustom {
 
-    List<Membros> findByNomeContainingIgnoreCase(String nome);
+    /**
+     * Busca por prefixo do nome normalizado, atendida pelo índice idx_membros_nome_normalizado.
+     * O prefixo deve vir normalizado e com %, _ e \ escapados.
+     */
+    @Query(MembroProjecao.SELECT +
+            "WHERE m.nomeNormalizado LIKE CONCAT(:prefixo, '%') ESCAPE '\\' " +
+            "ORDER BY m.nomeNormalizado, m.id")
+    List<MembroProjecao> buscarPorPrefixoNormalizado(@Param("prefixo") String prefixo, Limit limite);
+
+    @Query(MembroProjecao.SELECT + "WHERE m.id IN :ids")
+    List<MembroProjecao> buscarPorIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT m.id FROM Membros m WHERE m.id IN :ids")
+    List<Long> buscarIdsExistentes(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT m.id, m.nome FROM Membros m")
+    List<Object[]> listarIdENome();
+
+    List<Membros> findByNomeNormalizadoIsNull();
+
+    /**
+     * Membros que já usam o CPF, o RG ou o RI informados, em uma única consulta.
+     * Parâmetros nulos são ignorados.
+     */
+    @Query("SELECT m.id AS id, m.cpf AS cpf, m.rg AS rg, m.ri AS ri FROM Membros m " +
+            "WHERE m.cpf = :cpf OR m.rg = :rg OR m.ri = :ri")
+    List<DocumentosMembro> buscarColisoes(@Param("cpf") String cpf, @Param("rg") String rg, @Param("ri") String ri);
+
+    /**
+     * Versão em lote de buscarColisoes, usada na importação. Listas vazias não casam com nenhum membro.
+     */
+    @Query("SELECT m.id AS id, m.cpf AS cpf, m.rg AS rg, m.ri AS ri FROM Membros m " +
+            "WHERE m.cpf IN :cpfs OR m.rg IN :rgs OR m.ri IN :ris")
+    List<DocumentosMembro> buscarColisoesEmLote(@Param("cpfs") Collection<String> cpfs,
+            @Param("rgs") Collection<String> rgs, @Param("ris") Collection<String> ris);
+
+    @Query("SELECT COALESCE(m.versao, 0) FROM Membros m WHERE m.id = :id")
+    Optional<Long> buscarVersao(@Param("id") Long id);
 
     Optional<Membros> findByCpf(String cpf);
 
     Optional<Membros> findByRi(String ri);
 
     Optional<Membros> findByRg(String rg);
-    
+
+    /**
+     * Percorre todos os membros como projeções (nada fica no contexto de persistência), com fetch size fixo.
+     * Deve ser consumido dentro de uma transação e fechado ao final.
+     */
+    @Query(MembroProjecao.SELECT + "ORDER BY m.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    Stream<MembroProjecao> streamTodos();
+
+    interface DocumentosMembro {
+        Long getId();
+
+        String getCpf();
+
+        String getRg();
+
+        String getRi();
+    }
 }
@@ -0,0 +1,19 @@
+package com.adbrassacoma.administrativo.infrastructure.repository;
+
+import com.adbrassacoma.administrativo.infrastructure.dto.projection.MembroProjecao;
+
+import java.util.List;
+
+/**
+ * Consultas paginadas por keyset (sem OFFSET), com filtros opcionais por cargo e cidade.
+ * Retornam projeções (uma única consulta com join no endereço, sem entidades gerenciadas).
+ * Os parâmetros "apos" são a chave do último item da página anterior; nulos indicam a primeira página.
+ */
+public interface MembrosRepositoryCustom {
+
+    List<MembroProjecao> buscarPaginaPorId(Long aposId, String cargo, String cidade, int limite);
+
+    List<MembroProjecao> buscarPaginaPorNome(String aposNome, Long aposId, String cargo, String cidade, int limite);
+
+    long contar(String cargo, String cidade);
+}
@@ -0,0 +1,76 @@
+package com.adbrassacoma.administrativo.infrastructure.repository;
+
+import com.adbrassacoma.administrativo.infrastructure.dto.projection.MembroProjecao;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+class MembrosRepositoryImpl implements MembrosRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<MembroProjecao> buscarPaginaPorId(Long aposId, String cargo, String cidade, int limite) {
+        StringBuilder jpql = new StringBuilder(MembroProjecao.SELECT).append("WHERE 1 = 1");
+        Map<String, Object> parametros = new HashMap<>();
+
+        if (aposId != null) {
+            jpql.append(" AND m.id > :aposId");
+            parametros.put("aposId", aposId);
+        }
+        aplicarFiltros(jpql, parametros, cargo, cidade);
+        jpql.append(" ORDER BY m.id");
+
+        return executar(jpql.toString(), parametros, limite);
+    }
+
+    @Override
+    public List<MembroProjecao> buscarPaginaPorNome(String aposNome, Long aposId, String cargo, String cidade, int limite) {
+        StringBuilder jpql = new StringBuilder(MembroProjecao.SELECT).append("WHERE 1 = 1");
+        Map<String, Object> parametros = new HashMap<>();
+
+        if (aposNome != null && aposId != null) {
+            // Desempate por id: nomes repetidos não pulam nem repetem registros entre páginas
+            jpql.append(" AND (m.nome > :aposNome OR (m.nome = :aposNome AND m.id > :aposId))");
+            parametros.put("aposNome", aposNome);
+            parametros.put("aposId", aposId);
+        }
+        aplicarFiltros(jpql, parametros, cargo, cidade);
+        jpql.append(" ORDER BY m.nome, m.id");
+
+        return executar(jpql.toString(), parametros, limite);
+    }
+
+    @Override
+    public long contar(String cargo, String cidade) {
+        StringBuilder jpql = new StringBuilder("SELECT COUNT(m) FROM Membros m JOIN m.endereco e WHERE 1 = 1");
+        Map<String, Object> parametros = new HashMap<>();
+        aplicarFiltros(jpql, parametros, cargo, cidade);
+
+        TypedQuery<Long> query = entityManager.createQuery(jpql.toString(), Long.class);
+        parametros.forEach(query::setParameter);
+        return query.getSingleResult();
+    }
+
+    private void aplicarFiltros(StringBuilder jpql, Map<String, Object> parametros, String cargo, String cidade) {
+        if (cargo != null && !cargo.isBlank()) {
+            jpql.append(" AND m.cargo = :cargo");
+            parametros.put("cargo", cargo);
+        }
+        if (cidade != null && !cidade.isBlank()) {
+            jpql.append(" AND e.cidade = :cidade");
+            parametros.put("cidade", cidade);
+        }
+    }
+
+    private List<MembroProjecao> executar(String jpql, Map<String, Object> parametros, int limite) {
+        TypedQuery<MembroProjecao> query = entityManager.createQuery(jpql, MembroProjecao.class);
+        parametros.forEach(query::setParameter);
+        return query.setMaxResults(limite).getResultList();
+    }
+}
@@ -14,6 +14,9 @@ public interface PermissaoUsuarioRepository extends JpaRepository<PermissaoUsuar
     
     List<PermissaoUsuario> findByUsuarioId(Long usuarioId);
     
+    @Query("SELECT p.tela.id FROM PermissaoUsuario p WHERE p.usuario.id = :usuarioId")
+    List<String> findTelaIdsByUsuarioId(@Param("usuarioId") Long usuarioId);
+    
     @Modifying
     @Query("DELETE FROM PermissaoUsuario p WHERE p.usuario.id = :usuarioId")
     void deleteByUsuarioId(@Param("usuarioId") Long usuarioId);
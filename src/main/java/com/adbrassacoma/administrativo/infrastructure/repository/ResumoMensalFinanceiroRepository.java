@@ -0,0 +1,37 @@
+package com.adbrassacoma.administrativo.infrastructure.repository;
+
+import com.adbrassacoma.administrativo.domain.enums.TipoFinanceiro;
+import com.adbrassacoma.administrativo.domain.model.ResumoMensalFinanceiro;
+import com.adbrassacoma.administrativo.domain.model.ResumoMensalFinanceiroId;
+import com.adbrassacoma.administrativo.infrastructure.dto.projection.TotalFinanceiroProjecao;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Repository
+public interface ResumoMensalFinanceiroRepository extends JpaRepository<ResumoMensalFinanceiro, ResumoMensalFinanceiroId> {
+
+    @Modifying
+    @Query("UPDATE ResumoMensalFinanceiro r SET r.entrada = r.entrada + :entrada, r.saida = r.saida + :saida, "
+            + "r.quantidade = r.quantidade + :quantidade "
+            + "WHERE r.id.ano = :ano AND r.id.mes = :mes AND r.id.tipo = :tipo")
+    int somar(@Param("ano") int ano, @Param("mes") int mes, @Param("tipo") TipoFinanceiro tipo,
+              @Param("entrada") BigDecimal entrada, @Param("saida") BigDecimal saida, @Param("quantidade") long quantidade);
+
+    // Competências no formato ano * 100 + mês, inclusivas
+    @Query("SELECT new com.adbrassacoma.administrativo.infrastructure.dto.projection.TotalFinanceiroProjecao("
+            + "r.id.ano, r.id.mes, 1, r.id.tipo, r.entrada, r.saida, r.quantidade) "
+            + "FROM ResumoMensalFinanceiro r "
+            + "WHERE r.quantidade > 0 AND r.id.ano * 100 + r.id.mes BETWEEN :inicio AND :fim")
+    List<TotalFinanceiroProjecao> listarPorCompetencia(@Param("inicio") int inicio, @Param("fim") int fim);
+
+    @Query("SELECT new com.adbrassacoma.administrativo.infrastructure.dto.projection.TotalFinanceiroProjecao("
+            + "r.id.ano, r.id.mes, 1, r.id.tipo, r.entrada, r.saida, r.quantidade) "
+            + "FROM ResumoMensalFinanceiro r WHERE r.quantidade > 0")
+    List<TotalFinanceiroProjecao> listarTodos();
+}
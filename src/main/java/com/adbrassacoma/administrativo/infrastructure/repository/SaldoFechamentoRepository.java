@@ -0,0 +1,22 @@
+package com.adbrassacoma.administrativo.infrastructure.repository;
+
+import com.adbrassacoma.administrativo.domain.model.SaldoFechamento;
+import com.adbrassacoma.administrativo.domain.model.SaldoFechamentoId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface SaldoFechamentoRepository extends JpaRepository<SaldoFechamento, SaldoFechamentoId> {
+
+    @Query("SELECT s FROM SaldoFechamento s WHERE s.id.ano = :ano")
+    List<SaldoFechamento> listarPorAno(@Param("ano") Integer ano);
+
+    @Modifying
+    @Query("DELETE FROM SaldoFechamento s WHERE s.id.ano = :ano")
+    int excluirPorAno(@Param("ano") Integer ano);
+}
@@ -2,6 +2,7 @@ package com.adbrassacoma.administrativo.infrastructure.repository;
 
 import com.adbrassacoma.administrativo.domain.model.Usuario;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -18,5 +19,12 @@ public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
 	
 	@Query("SELECT u FROM Usuario u WHERE LOWER(u.nome) LIKE LOWER(CONCAT('%', :nome, '%'))")
 	List<Usuario> buscarPorNome(@Param("nome") String nome);
+	
+	@Modifying(flushAutomatically = true)
+	@Query("UPDATE Usuario u SET u.versaoPermissoes = u.versaoPermissoes + 1 WHERE u.id = :id")
+	int incrementarVersaoPermissoes(@Param("id") Long id);
+	
+	@Query("SELECT u.versaoPermissoes FROM Usuario u WHERE u.id = :id")
+	Optional<Long> buscarVersaoPermissoes(@Param("id") Long id);
 }
 
@@ -0,0 +1,21 @@
+package com.adbrassacoma.administrativo.infrastructure.repository;
+
+import com.adbrassacoma.administrativo.domain.model.VersaoTabela;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface VersaoTabelaRepository extends JpaRepository<VersaoTabela, String> {
+
+    @Modifying
+    @Query("UPDATE VersaoTabela v SET v.versao = v.versao + 1 WHERE v.tabela = :tabela")
+    int incrementar(@Param("tabela") String tabela);
+
+    @Query("SELECT v.versao FROM VersaoTabela v WHERE v.tabela = :tabela")
+    Optional<Long> buscarVersao(@Param("tabela") String tabela);
+}
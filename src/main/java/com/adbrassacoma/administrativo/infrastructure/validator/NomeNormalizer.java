@@ -0,0 +1,23 @@
+package com.adbrassacoma.administrativo.infrastructure.validator;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+public class NomeNormalizer {
+
+    private static final Pattern DIACRITICOS = Pattern.compile("\\p{M}+");
+    private static final Pattern ESPACOS = Pattern.compile("\\s+");
+
+    /**
+     * Converte o nome para a forma usada na busca: minúsculo, sem acentos e com espaços simples.
+     * Ex.: "  João   da SILVA " -> "joao da silva"
+     */
+    public static String normalizar(String nome) {
+        if (nome == null) {
+            return null;
+        }
+        String semAcentos = DIACRITICOS.matcher(Normalizer.normalize(nome, Normalizer.Form.NFD)).replaceAll("");
+        return ESPACOS.matcher(semAcentos.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+}
@@ -0,0 +1,180 @@
+package com.adbrassacoma.administrativo.domain.service;
+
+import com.adbrassacoma.administrativo.domain.enums.AgrupamentoPeriodo;
+import com.adbrassacoma.administrativo.domain.enums.TipoFinanceiro;
+import com.adbrassacoma.administrativo.domain.model.ExercicioFinanceiro;
+import com.adbrassacoma.administrativo.infrastructure.controller.FinanceiroController;
+import com.adbrassacoma.administrativo.infrastructure.dto.request.AtualizarFinanceiroRequest;
+import com.adbrassacoma.administrativo.infrastructure.dto.request.CadastroFinanceiroRequest;
+import com.adbrassacoma.administrativo.infrastructure.dto.response.SaldoFinanceiroResponse;
+import com.adbrassacoma.administrativo.infrastructure.dto.response.TotaisFinanceiroResponse;
+import com.adbrassacoma.administrativo.infrastructure.exception.GlobalExceptionHandler;
+import com.adbrassacoma.administrativo.infrastructure.repository.ExercicioFinanceiroRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Resumo mensal e fechamento de exercícios contra o H2 da aplicação. Cada serviço é chamado fora de
+ * transação, como nas requisições, para que cada escrita faça o próprio commit.
+ */
+@SpringBootTest
+class FinanceiroExercicioResumoTest {
+
+    private static final int ANO_ANTERIOR = LocalDate.now().getYear() - 1;
+
+    @Autowired
+    private FinanceiroService financeiroService;
+
+    @Autowired
+    private FinanceiroResumoService financeiroResumoService;
+
+    @Autowired
+    private ExercicioFinanceiroService exercicioFinanceiroService;
+
+    @Autowired
+    private ExercicioFinanceiroRepository exercicioRepository;
+
+    @Autowired
+    private FinanceiroController financeiroController;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void limpar() {
+        jdbcTemplate.update("DELETE FROM financeiro_arquivo");
+        jdbcTemplate.update("DELETE FROM financeiro");
+        jdbcTemplate.update("DELETE FROM resumo_mensal_financeiro");
+        jdbcTemplate.update("DELETE FROM saldo_fechamento");
+        jdbcTemplate.update("DELETE FROM exercicio_financeiro");
+    }
+
+    @Test
+    void deltasDasEscritasBatemComAReconstrucao() {
+        Long dizimo = cadastrar(TipoFinanceiro.DIZIMO, "100.00", null);
+        Long oferta = cadastrar(TipoFinanceiro.OFERTAS, "50.00", null);
+        Long despesa = cadastrar(TipoFinanceiro.DESPESAS, null, "30.00");
+
+        financeiroService.atualizar(dizimo, new AtualizarFinanceiroRequest(
+                new BigDecimal("120.00"), null, TipoFinanceiro.DIZIMO, null, null));
+        // Troca de tipo: sai do resumo de OFERTAS e entra no de DIZIMO
+        financeiroService.atualizar(oferta, new AtualizarFinanceiroRequest(
+                new BigDecimal("50.00"), null, TipoFinanceiro.DIZIMO, null, null));
+        financeiroService.deletar(despesa);
+
+        List<String> resumoIncremental = resumoMensal();
+        financeiroResumoService.reconstruir();
+
+        // Sem divergências: a reconstrução não altera nenhuma linha
+        assertEquals(resumoIncremental, resumoMensal());
+
+        TotaisFinanceiroResponse totais = financeiroResumoService.saldo().totais();
+        assertEquals(0, new BigDecimal("170.00").compareTo(totais.entrada()));
+        assertEquals(0, BigDecimal.ZERO.compareTo(totais.saida()));
+        assertEquals(2, totais.quantidade());
+    }
+
+    @Test
+    void fecharEReabrirRestauraRegistrosETotais() {
+        cadastrar(TipoFinanceiro.DIZIMO, "100.00", null);
+        cadastrar(TipoFinanceiro.OFERTAS, "40.50", null);
+        cadastrar(TipoFinanceiro.DESPESAS, null, "25.00");
+        moverParaAnoAnterior();
+
+        List<Map<String, Object>> registros = registrosFinanceiro();
+        SaldoFinanceiroResponse saldo = financeiroResumoService.saldo();
+        TotaisFinanceiroResponse totaisMensais = totaisDoAnoAnterior(AgrupamentoPeriodo.MES);
+        TotaisFinanceiroResponse totaisDiarios = totaisDoAnoAnterior(AgrupamentoPeriodo.DIA);
+
+        exercicioFinanceiroService.fechar(ANO_ANTERIOR);
+
+        assertEquals(List.of(), registrosFinanceiro());
+        assertEquals(3, contar("financeiro_arquivo"));
+        assertEquals(saldo, financeiroResumoService.saldo());
+        assertEquals(totaisMensais, totaisDoAnoAnterior(AgrupamentoPeriodo.MES));
+        assertEquals(totaisDiarios, totaisDoAnoAnterior(AgrupamentoPeriodo.DIA));
+
+        exercicioFinanceiroService.reabrir(ANO_ANTERIOR);
+
+        assertEquals(registros, registrosFinanceiro());
+        assertEquals(0, contar("financeiro_arquivo"));
+        assertEquals(0, contar("saldo_fechamento"));
+        assertEquals(saldo, financeiroResumoService.saldo());
+        assertEquals(totaisDiarios, totaisDoAnoAnterior(AgrupamentoPeriodo.DIA));
+    }
+
+    @Test
+    void escritaEmExercicioFechadoRetorna409() throws Exception {
+        Long id = cadastrar(TipoFinanceiro.DIZIMO, "100.00", null);
+        moverParaAnoAnterior();
+        // Marca o exercício como fechado sem arquivar, para que o registro ainda seja encontrado pela escrita
+        exercicioRepository.save(ExercicioFinanceiro.builder().ano(ANO_ANTERIOR).fechado(true).build());
+
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(financeiroController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+
+        mockMvc.perform(put("/api/financeiro/{id}", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"entrada\": 10.00, \"tipo\": \"DIZIMO\"}"))
+                .andExpect(status().isConflict());
+        mockMvc.perform(delete("/api/financeiro/{id}", id))
+                .andExpect(status().isConflict());
+
+        assertEquals(1, contar("financeiro"));
+    }
+
+    private Long cadastrar(TipoFinanceiro tipo, String entrada, String saida) {
+        return financeiroService.cadastrar(new CadastroFinanceiroRequest(
+                entrada != null ? new BigDecimal(entrada) : null,
+                saida != null ? new BigDecimal(saida) : null,
+                tipo, null, null)).id();
+    }
+
+    // data_registro não é atualizável pela entidade; o resumo é recalculado para a nova competência
+    private void moverParaAnoAnterior() {
+        jdbcTemplate.update("UPDATE financeiro SET data_registro = DATEADD(YEAR, -1, data_registro)");
+        financeiroResumoService.reconstruir();
+    }
+
+    private TotaisFinanceiroResponse totaisDoAnoAnterior(AgrupamentoPeriodo agrupamento) {
+        return financeiroResumoService.resumir(
+                LocalDate.of(ANO_ANTERIOR, 1, 1), LocalDate.of(ANO_ANTERIOR, 12, 31), agrupamento).totais();
+    }
+
+    // Linhas zeradas são removidas pela reconstrução sem contar como divergência
+    private List<String> resumoMensal() {
+        return jdbcTemplate.query(
+                "SELECT ano, mes, tipo, entrada, saida, quantidade FROM resumo_mensal_financeiro "
+                        + "WHERE quantidade <> 0 OR entrada <> 0 OR saida <> 0 ORDER BY ano, mes, tipo",
+                (rs, linha) -> rs.getInt("ano") + "/" + rs.getInt("mes") + " " + rs.getString("tipo") + " "
+                        + rs.getBigDecimal("entrada").stripTrailingZeros().toPlainString() + " "
+                        + rs.getBigDecimal("saida").stripTrailingZeros().toPlainString() + " "
+                        + rs.getLong("quantidade"));
+    }
+
+    private List<Map<String, Object>> registrosFinanceiro() {
+        return jdbcTemplate.queryForList(
+                "SELECT id, entrada, saida, tipo, observacao, data_registro, membro_id FROM financeiro ORDER BY id");
+    }
+
+    private long contar(String tabela) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + tabela, Long.class);
+    }
+}
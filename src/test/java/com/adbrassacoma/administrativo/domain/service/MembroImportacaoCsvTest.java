@@ -0,0 +1,64 @@
+package com.adbrassacoma.administrativo.domain.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class MembroImportacaoCsvTest {
+
+    @Test
+    void separadorEntreAspasFazParteDoCampo() throws IOException {
+        BufferedReader reader = leitor("\"Silva, João\",123,\"Rua A, 10\"\n");
+
+        assertEquals(List.of("Silva, João", "123", "Rua A, 10"), MembroImportacaoService.separarCsv(reader, ','));
+        assertNull(MembroImportacaoService.separarCsv(reader, ','));
+    }
+
+    @Test
+    void aspasDuplicadasViramUmaAspa() throws IOException {
+        BufferedReader reader = leitor("\"Maria \"\"Tia\"\" Souza\",\"\"\"\"\n");
+
+        assertEquals(List.of("Maria \"Tia\" Souza", "\""), MembroImportacaoService.separarCsv(reader, ','));
+    }
+
+    @Test
+    void quebraDeLinhaEntreAspasNaoEncerraORegistro() throws IOException {
+        BufferedReader reader = leitor("Ana,\"Rua B\nFundos\",7\r\nPaulo,Rua C,8\r\n");
+
+        assertEquals(List.of("Ana", "Rua B\nFundos", "7"), MembroImportacaoService.separarCsv(reader, ','));
+        assertEquals(List.of("Paulo", "Rua C", "8"), MembroImportacaoService.separarCsv(reader, ','));
+        assertNull(MembroImportacaoService.separarCsv(reader, ','));
+    }
+
+    @Test
+    void pontoEVirgulaComoSeparador() throws IOException {
+        BufferedReader reader = leitor("Ana;\"Rua B; fundos\";1,5\n");
+
+        assertEquals(List.of("Ana", "Rua B; fundos", "1,5"), MembroImportacaoService.separarCsv(reader, ';'));
+    }
+
+    @Test
+    void camposVaziosSaoMantidos() throws IOException {
+        BufferedReader reader = leitor(",a,,\n");
+
+        assertEquals(List.of("", "a", "", ""), MembroImportacaoService.separarCsv(reader, ','));
+    }
+
+    @Test
+    void ultimoRegistroSemQuebraDeLinha() throws IOException {
+        BufferedReader reader = leitor("a,b");
+
+        assertEquals(List.of("a", "b"), MembroImportacaoService.separarCsv(reader, ','));
+        assertNull(MembroImportacaoService.separarCsv(reader, ','));
+    }
+
+    private static BufferedReader leitor(String texto) {
+        return new BufferedReader(new StringReader(texto));
+    }
+}
@@ -0,0 +1,86 @@
+package com.adbrassacoma.administrativo.domain.service;
+
+import com.adbrassacoma.administrativo.domain.enums.FormatoExportacao;
+import com.adbrassacoma.administrativo.infrastructure.dto.response.ErroImportacaoResponse;
+import com.adbrassacoma.administrativo.infrastructure.dto.response.ImportacaoMembrosResponse;
+import com.adbrassacoma.administrativo.infrastructure.repository.MembrosRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class MembroImportacaoServiceTest {
+
+    private static final String CABECALHO = "\uFEFFnome;rg;cpf;ri;cargo;rua;numero;cep;bairro;cidade;estado\r\n";
+
+    @Autowired
+    private MembroImportacaoService membroImportacaoService;
+
+    @Autowired
+    private MembrosRepository membrosRepository;
+
+    @Test
+    void rejeitaLinhasInvalidasEGravaAsDemais() {
+        String cpfExistente = cpf(529_982_247);
+        String cpfA = cpf(153_509_460);
+        String cpfB = cpf(714_602_380);
+        importar(CABECALHO + linha("Membro Existente", "RG-IMP-1", cpfExistente, "RI-IMP-1", "Rua A"));
+
+        ImportacaoMembrosResponse resposta = importar(CABECALHO
+                + linha("Ana Pereira", "RG-IMP-2", cpfA, "RI-IMP-2", "Rua B")
+                + linha("CPF Inválido", "RG-IMP-3", "123.456.789-00", "RI-IMP-3", "Rua C")
+                // Endereço entre aspas com quebra de linha: o registro ocupa as linhas 4 e 5
+                + linha("Bruno Lima", "RG-IMP-4", cpfB, "RI-IMP-4", "\"Rua D\nFundos\"")
+                + linha("Ana Repetida", "RG-IMP-5", cpfA, "RI-IMP-5", "Rua E")
+                + linha("Outro Existente", "RG-IMP-6", cpfExistente, "RI-IMP-6", "Rua F"));
+
+        assertEquals(5, resposta.totalLinhas());
+        assertEquals(2, resposta.importados());
+        assertEquals(3, resposta.rejeitados());
+        assertEquals(List.of(3, 6, 7), resposta.erros().stream().map(ErroImportacaoResponse::linha).toList());
+        assertTrue(resposta.erros().get(0).mensagens().get(0).startsWith("CPF inválido"));
+        assertEquals(List.of("CPF repetido no arquivo (linha 2)"), resposta.erros().get(1).mensagens());
+        assertEquals(List.of("CPF já cadastrado no sistema"), resposta.erros().get(2).mensagens());
+
+        assertTrue(membrosRepository.findByCpf(cpfA).isPresent());
+        assertEquals("Rua D\nFundos", membrosRepository.findByCpf(cpfB).orElseThrow().getEndereco().getRua());
+    }
+
+    private ImportacaoMembrosResponse importar(String csv) {
+        return membroImportacaoService.importar(FormatoExportacao.CSV,
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static String linha(String nome, String rg, String cpf, String ri, String rua) {
+        return String.join(";", nome, rg, cpf, ri, "Membro", rua, "10", "01001-000", "Centro", "São Paulo", "SP") + "\r\n";
+    }
+
+    // Completa os nove primeiros dígitos com os dígitos verificadores
+    private static String cpf(int base) {
+        int[] digitos = new int[11];
+        for (int i = 8; i >= 0; i--) {
+            digitos[i] = base % 10;
+            base /= 10;
+        }
+        for (int posicao = 9; posicao <= 10; posicao++) {
+            int soma = 0;
+            for (int i = 0; i < posicao; i++) {
+                soma += digitos[i] * (posicao + 1 - i);
+            }
+            int resto = soma % 11;
+            digitos[posicao] = resto < 2 ? 0 : 11 - resto;
+        }
+        StringBuilder cpf = new StringBuilder();
+        for (int digito : digitos) {
+            cpf.append(digito);
+        }
+        return cpf.toString();
+    }
+}
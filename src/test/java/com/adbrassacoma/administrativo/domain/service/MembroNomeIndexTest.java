@@ -0,0 +1,140 @@
+package com.adbrassacoma.administrativo.domain.service;
+
+import com.adbrassacoma.administrativo.infrastructure.repository.MembrosRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MembroNomeIndexTest {
+
+    private static final int TOTAL_MEMBROS = 100_000;
+    private static final int CONSULTAS = 200;
+
+    private static final String[] PRENOMES = {
+            "João", "José", "Maria", "Antônio", "Ana", "Francisco", "Luíza", "Paulo", "Cecília", "Sebastião",
+            "Márcia", "Raimundo", "Conceição", "Luís", "Vitória", "André", "Inês", "Valéria", "Ângela", "Fábio"
+    };
+    private static final String[] SOBRENOMES = {
+            "Silva", "Santos", "Oliveira", "Souza", "Lima", "Pereira", "Conceição", "Gonçalves", "Araújo", "Simões",
+            "Brandão", "Magalhães", "Falcão", "Cardoso", "Figueirêdo", "Damião", "Romão", "Assunção", "Galvão", "Mendonça"
+    };
+
+    private static MembroNomeIndex index;
+
+    @BeforeAll
+    static void popular() {
+        index = new MembroNomeIndex(null);
+        Random random = new Random(42);
+        for (long id = 1; id <= TOTAL_MEMBROS; id++) {
+            String nome = PRENOMES[random.nextInt(PRENOMES.length)] + " "
+                    + SOBRENOMES[random.nextInt(SOBRENOMES.length)] + " "
+                    + SOBRENOMES[random.nextInt(SOBRENOMES.length)];
+            index.indexar(id, nome);
+        }
+        index.indexar(TOTAL_MEMBROS + 1L, "João");
+        index.indexar(TOTAL_MEMBROS + 2L, "Tereza Joãozinho Silva");
+    }
+
+    @Test
+    void ignoraAcentosEMaiusculas() {
+        List<Long> semAcento = index.buscar("joao", 20);
+        List<Long> comAcento = index.buscar("JOÃO", 20);
+
+        assertFalse(semAcento.isEmpty());
+        assertEquals(semAcento, comAcento);
+    }
+
+    @Test
+    void ordenaPorRelevancia() {
+        List<Long> resultado = index.buscar("joao", TOTAL_MEMBROS);
+
+        // Nome igual ao termo primeiro; termo no início de outra palavra depois dos que começam pelo termo
+        assertEquals(TOTAL_MEMBROS + 1L, resultado.get(0));
+        assertEquals(TOTAL_MEMBROS + 2L, resultado.get(resultado.size() - 1));
+    }
+
+    @Test
+    void encontraOcorrenciasNoMeioDoNome() {
+        assertFalse(index.buscar("ONCALV", 10).isEmpty());
+        assertTrue(index.buscar("xyzw", 10).isEmpty());
+    }
+
+    @Test
+    void aplicaAlteracoesERemocoes() {
+        MembroNomeIndex local = new MembroNomeIndex(null);
+        local.indexar(1L, "Benedito Ramos");
+        local.indexar(1L, "Bento Ramos");
+        local.indexar(2L, "Benedita Reis");
+        local.removerMembro(2L);
+
+        assertTrue(local.buscar("benedit", 10).isEmpty());
+        assertEquals(List.of(1L), local.buscar("bento", 10));
+        assertEquals(1, local.tamanho());
+    }
+
+    @Test
+    void alteracoesDuranteAReconstrucaoNaoSaoPerdidas() {
+        MembroNomeIndex[] local = new MembroNomeIndex[1];
+        // A leitura do banco devolve o estado anterior às escritas feitas enquanto ela acontece
+        MembrosRepository repositorio = (MembrosRepository) Proxy.newProxyInstance(
+                MembrosRepository.class.getClassLoader(), new Class<?>[]{MembrosRepository.class},
+                (proxy, metodo, argumentos) -> switch (metodo.getName()) {
+                    case "findByNomeNormalizadoIsNull" -> List.of();
+                    case "listarIdENome" -> {
+                        local[0].indexar(3L, "Bruna Nunes");
+                        local[0].indexar(1L, "Ana Ribeiro");
+                        local[0].removerMembro(2L);
+                        yield List.of(new Object[]{1L, "Ana Souza"}, new Object[]{2L, "Carlos Lima"});
+                    }
+                    default -> throw new UnsupportedOperationException(metodo.getName());
+                });
+        local[0] = new MembroNomeIndex(repositorio);
+
+        local[0].reconstruir();
+
+        assertEquals(List.of(3L), local[0].buscar("bruna", 10));
+        assertEquals(List.of(1L), local[0].buscar("ribeiro", 10));
+        assertTrue(local[0].buscar("souza", 10).isEmpty());
+        assertTrue(local[0].buscar("carlos", 10).isEmpty());
+        assertEquals(2, local[0].tamanho());
+    }
+
+    @Test
+    void renomeacoesNaoCrescemOIndiceIndefinidamente() {
+        MembroNomeIndex local = new MembroNomeIndex(null);
+        for (int i = 0; i < 10_000; i++) {
+            local.indexar(1L, "Membro Renomeado " + i);
+        }
+
+        assertEquals(List.of(1L), local.buscar("renomeado", 10));
+        assertEquals(1, local.tamanho());
+        assertTrue(local.posicoesOcupadas() <= 1025, "Posições ocupadas: " + local.posicoesOcupadas());
+    }
+
+    @Test
+    void buscaEm100MilMembrosDentroDoOrcamento() {
+        String[] termos = {"silva", "conceicao", "mendonca", "joao sim", "araujo", "galv", "ria lim", "falcao"};
+
+        // Aquecimento do JIT antes da medição
+        for (int i = 0; i < CONSULTAS; i++) {
+            index.buscar(termos[i % termos.length], 50);
+        }
+
+        long inicio = System.nanoTime();
+        for (int i = 0; i < CONSULTAS; i++) {
+            assertFalse(index.buscar(termos[i % termos.length], 50).isEmpty());
+        }
+        long mediaMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - inicio) / CONSULTAS;
+
+        // Limite folgado para não oscilar em máquinas de CI; o objetivo é detectar regressões de ordem de grandeza
+        assertTrue(mediaMicros < 50_000, "Busca média de " + mediaMicros + "µs");
+    }
+}
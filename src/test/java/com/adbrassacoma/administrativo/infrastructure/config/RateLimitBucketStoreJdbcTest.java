@@ -0,0 +1,75 @@
+package com.adbrassacoma.administrativo.infrastructure.config;
+
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.BucketConfiguration;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimitBucketStoreJdbcTest {
+
+	private static final int CAPACIDADE = 10;
+
+	@Test
+	void instanciasCompartilhamOMesmoLimite() {
+		DataSource dataSource = novoDataSource("ratelimit_sincrono");
+		RateLimitBucketStoreJdbc noA = new RateLimitBucketStoreJdbc(dataSource, 1000, 120, 0, 500, new SimpleMeterRegistry());
+		RateLimitBucketStoreJdbc noB = new RateLimitBucketStoreJdbc(dataSource, 1000, 120, 0, 500, new SimpleMeterRegistry());
+
+		assertEquals(CAPACIDADE, consumirAlternando(noA, noB));
+	}
+
+	@Test
+	void sincronizacaoEmLoteLimitaExcessoPorInstancia() {
+		long tokensNaoSincronizados = 2;
+		DataSource dataSource = novoDataSource("ratelimit_lote");
+		RateLimitBucketStoreJdbc noA = new RateLimitBucketStoreJdbc(
+			dataSource, 1000, 120, tokensNaoSincronizados, 60_000, new SimpleMeterRegistry());
+		RateLimitBucketStoreJdbc noB = new RateLimitBucketStoreJdbc(
+			dataSource, 1000, 120, tokensNaoSincronizados, 60_000, new SimpleMeterRegistry());
+
+		int consumidos = consumirAlternando(noA, noB);
+
+		assertTrue(consumidos >= CAPACIDADE);
+		// Cada instância pode conceder no máximo o lote ainda não sincronizado além do limite
+		assertTrue(consumidos <= CAPACIDADE + 2 * (tokensNaoSincronizados + 1));
+	}
+
+	private int consumirAlternando(RateLimitBucketStore noA, RateLimitBucketStore noB) {
+		Bucket bucketA = noA.obter("geral:ip:10.0.0.1", this::configuracao);
+		Bucket bucketB = noB.obter("geral:ip:10.0.0.1", this::configuracao);
+
+		int consumidos = 0;
+		for (int i = 0; i < CAPACIDADE * 3; i++) {
+			Bucket bucket = i % 2 == 0 ? bucketA : bucketB;
+			if (bucket.tryConsume(1)) {
+				consumidos++;
+			}
+		}
+		return consumidos;
+	}
+
+	private BucketConfiguration configuracao() {
+		return BucketConfiguration.builder()
+			.addLimit(Bandwidth.builder().capacity(CAPACIDADE).refillIntervally(CAPACIDADE, Duration.ofMinutes(1)).build())
+			.build();
+	}
+
+	private static DataSource novoDataSource(String nome) {
+		DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + nome + ";DB_CLOSE_DELAY=-1", "sa", "");
+		// Na aplicação a tabela vem do ddl-auto (entidade RateLimitBucketEstado)
+		new JdbcTemplate(dataSource).execute("CREATE TABLE IF NOT EXISTS rate_limit_bucket ("
+			+ "id VARCHAR(255) PRIMARY KEY, "
+			+ "estado VARBINARY(4096) NOT NULL, "
+			+ "atualizado_em BIGINT NOT NULL)");
+		return dataSource;
+	}
+}
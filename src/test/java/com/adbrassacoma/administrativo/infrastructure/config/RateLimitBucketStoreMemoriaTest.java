@@ -0,0 +1,47 @@
+package com.adbrassacoma.administrativo.infrastructure.config;
+
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.BucketConfiguration;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimitBucketStoreMemoriaTest {
+
+	private static final long TAMANHO_MAXIMO = 10_000;
+
+	@Test
+	void mantemTamanhoLimitadoComMilhoesDeChavesDistintas() {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		RateLimitBucketStoreMemoria store = new RateLimitBucketStoreMemoria(TAMANHO_MAXIMO, 120, registry);
+
+		for (int i = 0; i < 2_000_000; i++) {
+			store.obter("geral:10." + (i >>> 16) + "." + ((i >>> 8) & 0xFF) + "." + (i & 0xFF), this::configuracao);
+		}
+
+		assertTrue(store.tamanho() <= TAMANHO_MAXIMO);
+		assertTrue(registry.get("cache.evictions").tag("cache", "rate.limit.buckets").functionCounter().count() > 0);
+		assertTrue(registry.get("cache.size").tag("cache", "rate.limit.buckets").gauge().value() <= TAMANHO_MAXIMO);
+	}
+
+	@Test
+	void reutilizaBucketDaMesmaChave() {
+		RateLimitBucketStoreMemoria store = new RateLimitBucketStoreMemoria(TAMANHO_MAXIMO, 120, new SimpleMeterRegistry());
+
+		Bucket primeiro = store.obter("auth:127.0.0.1", this::configuracao);
+		Bucket segundo = store.obter("auth:127.0.0.1", this::configuracao);
+
+		assertSame(primeiro, segundo);
+	}
+
+	private BucketConfiguration configuracao() {
+		return BucketConfiguration.builder()
+			.addLimit(Bandwidth.builder().capacity(5).refillIntervally(5, Duration.ofMinutes(1)).build())
+			.build();
+	}
+}